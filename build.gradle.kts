@@ -92,6 +92,8 @@ dependencies {
     testRuntimeOnly("org.junit.jupiter:junit-jupiter-engine:5.10.0")
 
     includeAndImplement("com.github.kuramastone:BUtilities-Core:$bUtilitiesVersion")
+    // embedded database for the h2 profile storage option
+    includeAndImplement("com.h2database:h2:2.2.224")
     modImplementation("me.neovitalism.neodaycare:neodaycare:1.4.1")
     // Adventure Platform Fabric - provides native Adventure support for Minecraft 1.21.1
     modImplementation(include("net.kyori:adventure-platform-fabric:5.14.0")!!)
@@ -161,6 +163,10 @@ tasks.jar {
 tasks.build {
 }
 
+tasks.test {
+    useJUnitPlatform()
+}
+
 tasks.withType<JavaCompile> {
     // Preserve parameter names in the bytecode
     options.compilerArgs.add("-parameters")
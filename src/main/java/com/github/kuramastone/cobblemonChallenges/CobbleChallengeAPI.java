@@ -3,156 +3,478 @@ package com.github.kuramastone.cobblemonChallenges;
 import com.github.kuramastone.bUtilities.ComponentEditor;
 import com.github.kuramastone.bUtilities.SimpleAPI;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.challenges.AlwaysActiveIndex;
 import com.github.kuramastone.cobblemonChallenges.challenges.Challenge;
+import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeCatalog;
+import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeIdTable;
 import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeList;
 import com.github.kuramastone.cobblemonChallenges.challenges.CompletedChallenge;
-import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Progression;
+import com.github.kuramastone.cobblemonChallenges.listeners.EventInterestRegistry;
 import com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+import com.github.kuramastone.cobblemonChallenges.player.FileProfileStore;
+import com.github.kuramastone.cobblemonChallenges.player.ProfileSaver;
+import com.github.kuramastone.cobblemonChallenges.player.ProfileStore;
+import com.github.kuramastone.cobblemonChallenges.player.ProgressJournal;
+import com.github.kuramastone.cobblemonChallenges.player.SqlProfileStore;
+import com.github.kuramastone.cobblemonChallenges.player.RepeatableCooldown;
 import com.github.kuramastone.cobblemonChallenges.utils.ConfigOptions;
+import com.github.kuramastone.cobblemonChallenges.utils.DeadlineQueue;
 import com.github.kuramastone.cobblemonChallenges.utils.FabricAdapter;
-import com.github.kuramastone.cobblemonChallenges.utils.MiniMessageUtils;
 import net.fabricmc.loader.api.FabricLoader;
-import org.apache.commons.lang3.tuple.Pair;
+import net.minecraft.Util;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class CobbleChallengeAPI implements SimpleAPI {
 
-    private Map<String, Challenge> allChallengesByName;
-    private Map<String, ChallengeList> challengeListMap;
-    private ConfigOptions configOptions;
-
-    private Map<UUID, PlayerProfile> profileMap;
+    // replaced whole on reload, never modified
+    private volatile ChallengeCatalog catalog = ChallengeCatalog.EMPTY;
+    private final ChallengeIdTable challengeIds; // kept across reloads so profiles' completion bits stay valid
+    private volatile ConfigOptions configOptions;
+
+    private Map<UUID, PlayerProfile> profileMap; // only holds profiles that have finished loading
+    private final Map<UUID, PendingProfile> pendingProfiles = new ConcurrentHashMap<>(); // profiles being read
+    // journaled changes of profiles that failed to load at startup. the journal is kept until they are replayed
+    private final Map<UUID, List<ProgressJournal.Entry>> unreplayed = new ConcurrentHashMap<>();
+    private final EventInterestRegistry interestRegistry;
+    private final DeadlineQueue<ChallengeProgress> timeLimits;
+    private final DeadlineQueue<RepeatableCooldown> repeatableCooldowns;
+    private ProfileStore profileStore;
+    private final ProfileSaver profileSaver;
+    private final ProgressJournal journal;
 
     public CobbleChallengeAPI() {
         profileMap = Collections.synchronizedMap(new HashMap<>());
-        allChallengesByName = Collections.synchronizedMap(new HashMap<>());
+        interestRegistry = new EventInterestRegistry();
+        timeLimits = new DeadlineQueue<>();
+        repeatableCooldowns = new DeadlineQueue<>();
+        profileSaver = new ProfileSaver();
+        journal = new ProgressJournal(CobbleChallengeMod.defaultDataFolder(), profileSaver);
+        challengeIds = new ChallengeIdTable();
     }
 
     public void init() {
         loadConfigs();
+        openProfileStore();
         loadRotationData(); // Load rotation data after challenge lists are loaded
+        importProfiles();
         loadProfiles();
     }
 
-    public void loadProfiles() {
-        YamlConfig data = new YamlConfig(CobbleChallengeMod.defaultDataFolder(), "player-data.yml");
+    private void openProfileStore() {
+        ProfileStore store = null;
+        if (configOptions.getStorage().equalsIgnoreCase("h2")) {
+            try {
+                store = new SqlProfileStore(CobbleChallengeMod.defaultDataFolder());
+            } catch (Exception e) {
+                CobbleChallengeMod.logger.error("Failed to open the player database. Player data will be stored in files instead.");
+                e.printStackTrace();
+            }
+        }
+        if (store == null) {
+            store = new FileProfileStore(CobbleChallengeMod.defaultDataFolder());
+        }
 
-        for (String strUUID : data.getKeys("", false)) {
+        profileStore = store;
+        profileSaver.setStore(store);
+    }
+
+    /**
+     * Wait for pending saves, then release the profile store
+     */
+    public void closeProfileStore() {
+        profileSaver.flush();
+        if (profileStore != null) {
+            profileStore.close();
+        }
+    }
+
+    /**
+     * Profiles placed as {@code <uuid>.yml} in the player-data-import folder replace the stored profile on startup. They
+     * are stored by the saver thread, before profiles are loaded.
+     */
+    private void importProfiles() {
+        File importFolder = new File(CobbleChallengeMod.defaultDataFolder(), "player-data-import");
+        if (!importFolder.isDirectory()) {
+            return;
+        }
+
+        profileSaver.execute(() -> {
+            int imported = profileStore.importYaml(importFolder);
+            if (imported > 0) {
+                CobbleChallengeMod.logger.info("Imported {} player profiles from {}.", imported, importFolder.getName());
+            }
+        });
+    }
+
+    /**
+     * Save all changes, then write every stored profile as yaml into the player-data-export folder
+     *
+     * @return Number of profiles exported, completed once they are all written
+     */
+    public CompletableFuture<Integer> exportProfiles() {
+        saveProfiles();
+        File exportFolder = new File(CobbleChallengeMod.defaultDataFolder(), "player-data-export");
+        return profileSaver.supplyAfterPending(() -> {
             try {
-                UUID uuid = UUID.fromString(strUUID);
-                PlayerProfile profile = getOrCreateProfile(uuid, false);
+                return profileStore.exportYaml(exportFolder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
-                YamlConfig section = data.getSection(strUUID);
-                // legacy from when they were saved as a list
-                List<CompletedChallenge> completedChallenges = Collections.synchronizedList(new ArrayList<>());
-                profile.setCompletedChallenges(completedChallenges);
+    /**
+     * Save all changes, then find every player who completed this challenge at or after this time
+     *
+     * @param since Epoch millis
+     * @return UUIDs of the players, completed once the store has been searched
+     */
+    public CompletableFuture<List<UUID>> findCompletedPlayers(String challengeID, long since) {
+        saveProfiles();
+        return profileSaver.supplyAfterPending(() -> {
+            try {
+                return profileStore.findCompleted(challengeID, since);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 
-                if (section.containsKey("completed-map")) {
-                    YamlConfig completeSection = section.getSection("completed-map");
+    /**
+     * Reload cached profiles from the store and recover changes left in the journal by a crash. Other profiles are
+     * loaded when they are first used, unless profile-preload is enabled.
+     * <p>
+     * Stored data is read and decoded first, in parallel if configured. Profiles are then built on this thread and
+     * published to the profile map together.
+     */
+    public void loadProfiles() {
+        long start = System.nanoTime();
+        profileSaver.flush(); // imports and saves queued before this are stored before reading
+        String preload = configOptions.getProfilePreload();
+        Set<UUID> uuids = new LinkedHashSet<>(profileMap.keySet());
+        if (!preload.equals("none")) {
+            try {
+                uuids.addAll(profileStore.listProfiles());
+            } catch (IOException e) {
+                CobbleChallengeMod.logger.error("Failed to list cobblemonchallenges player profiles.");
+                e.printStackTrace();
+            }
+        }
 
-                    // due to an old bug, it can sometimes be double layered
-                    if (completeSection.containsKey("completed-map")) {
-                        completeSection = completeSection.getSection("completed-map");
-                    }
+        journal.setEnabled(false); // loading replaces progress, which should not be recorded again
+        Map<UUID, List<ProgressJournal.Entry>> journaled = journal.readAll();
+        uuids.addAll(journaled.keySet());
 
-                    for (String anyID : completeSection.getKeys("", false)) {
-                        String challengeListID = completeSection.getString("%s.challengeListID".formatted(anyID));
-                        String challengeID = completeSection.getString("%s.challengeID".formatted(anyID));
-                        long lastTimeCompleted = completeSection.getLong("%s.timeCompleted".formatted(anyID));
-                        completedChallenges.add(new CompletedChallenge(challengeListID, challengeID, lastTimeCompleted));
-                    }
+        Map<UUID, YamlConfig> stored = readProfiles(uuids, journaled, preload.equals("parallel"));
+        long readMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Map<UUID, PlayerProfile> loaded = new HashMap<>();
+        int replayed = 0;
+        for (Map.Entry<UUID, YamlConfig> entry : stored.entrySet()) {
+            UUID uuid = entry.getKey();
+            try {
+                PlayerProfile profile = profileMap.get(uuid);
+                if (profile == null) {
+                    profile = new PlayerProfile(this, uuid);
                 }
-                if (section.containsKey("progression")) {
-                    YamlConfig progressionSection = section.getSection("progression");
-                    // iterate over each challenge list
-                    for (String strList : progressionSection.getKeys("", false)) {
-                        YamlConfig listSection = progressionSection.getSection(strList);
-                        ChallengeList list = getChallengeList(strList);
-
-                        if(list != null) {
-                            // iterate over each challenge
-                            for (String strChallenge : listSection.getKeys("", false)) {
-                                Challenge challenge = list.getChallenge(strChallenge);
-                                // removed challenges are no longer loaded, ignore null challenges
-                                if (challenge != null) {
-                                    ChallengeProgress progress = list.buildNewProgressForQuest(challenge, profile);
-                                    YamlConfig challengeSection = listSection.getSection(strChallenge);
-
-                                    progress.setStartTime(challengeSection.containsKey("startTime") ?
-                                            challengeSection.getLong("startTime") : System.currentTimeMillis());
-
-                                    // iterate over each requirement for challenge
-                                    int index = 0;
-                                    for (Pair<String, Progression<?>> progSet : progress.getProgressionMap()) {
-                                        YamlConfig progSection = challengeSection.getSection(index++ + "." + progSet.getKey());
-
-                                        // if requirements change, this section may be null. ignore it.
-                                        if (progSection != null)
-                                            progSet.getValue().loadFrom(uuid, progSection);
-                                    }
-
-                                    profile.addActiveChallenge(progress);
-                                }
-                            }
-                        }
-                    }
+                loadProfile(profile, entry.getValue());
+                if (journaled.containsKey(uuid)) {
+                    // the store is behind the journal until this profile is saved again
+                    profile.markDirty();
+                    replayed++;
                 }
-
-                // only add unrestricted challenges after adding saved challenges
-                profile.addUnrestrictedChallenges();
+                loaded.put(uuid, profile);
             } catch (Exception e) {
-                CobbleChallengeMod.logger.error("Failed to load cobblemonchallenges player profile: {}", strUUID);
+                CobbleChallengeMod.logger.error("Failed to load cobblemonchallenges player profile: {}", uuid);
                 e.printStackTrace();
             }
+        }
+        profileMap.putAll(loaded);
 
+        unreplayed.clear();
+        for (Map.Entry<UUID, List<ProgressJournal.Entry>> entry : journaled.entrySet()) {
+            if (!loaded.containsKey(entry.getKey())) {
+                unreplayed.put(entry.getKey(), entry.getValue());
+            }
         }
+        if (!unreplayed.isEmpty()) {
+            CobbleChallengeMod.logger.error("Unable to recover unsaved progress of {} player profiles. The journal is kept until they load.", unreplayed.size());
+        }
+
+        migrateLegacyProfiles();
+        journal.setEnabled(true);
+
+        CobbleChallengeMod.logger.info("Loaded {} player profiles in {}ms ({}ms reading, preload: {}).",
+                loaded.size(), (System.nanoTime() - start) / 1_000_000, readMillis, preload);
 
+        if (replayed > 0) {
+            CobbleChallengeMod.logger.info("Recovered unsaved progress of {} player profiles from the journal.", replayed);
+            saveProfiles();
+        }
     }
 
-    public synchronized void saveProfiles() {
-        YamlConfig data = new YamlConfig(CobbleChallengeMod.defaultDataFolder(), "player-data.yml");
-        
-        // Save rotation data
-        saveRotationData();
-        
-        data.clear();
+    /**
+     * Read and decode these profiles with their journaled changes applied. Each profile is read on its own, so one
+     * failing doesn't stop the rest.
+     *
+     * @param parallel Whether to spread the reads across the common fork-join pool
+     * @return The data of every profile that has any
+     */
+    private Map<UUID, YamlConfig> readProfiles(Collection<UUID> uuids, Map<UUID, List<ProgressJournal.Entry>> journaled, boolean parallel) {
+        Map<UUID, YamlConfig> stored = new ConcurrentHashMap<>();
+        (parallel ? uuids.parallelStream() : uuids.stream()).forEach(uuid -> {
+            try {
+                YamlConfig data = readProfile(uuid, journaled.get(uuid));
+                if (data != null) {
+                    stored.put(uuid, data);
+                }
+            } catch (Exception e) {
+                CobbleChallengeMod.logger.error("Failed to load cobblemonchallenges player profile: {}", uuid);
+                e.printStackTrace();
+            }
+        });
+        return stored;
+    }
 
-        for (PlayerProfile profile : getProfiles()) {
+    private @Nullable YamlConfig readProfile(UUID uuid, @Nullable List<ProgressJournal.Entry> entries) throws IOException {
+        YamlConfig data = profileStore.load(uuid);
+        if (entries != null) {
+            if (data == null) {
+                data = YamlConfig.direct(new LinkedHashMap<>());
+            }
+            for (ProgressJournal.Entry entry : entries) {
+                entry.applyTo(data);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Moves profiles out of the old single player-data.yml into their own files. Profiles that already have their own
+     * file are skipped. The old file is renamed afterwards so this only runs once.
+     */
+    private void migrateLegacyProfiles() {
+        File legacyFile = new File(CobbleChallengeMod.defaultDataFolder(), "player-data.yml");
+        if (!legacyFile.isFile()) {
+            return;
+        }
+
+        YamlConfig data = new YamlConfig(CobbleChallengeMod.defaultDataFolder(), "player-data.yml");
+        List<ProfileSaver.SaveSnapshot> batch = new ArrayList<>();
+        int failed = 0;
+        for (String strUUID : data.getKeys("", false)) {
             try {
-                YamlConfig profileEntry = data.getOrCreateSection(profile.getUUID().toString());
-
-                YamlConfig completedSection = data.getOrCreateSection("%s.completed-map".formatted(profile.getUUID()));
-                for (CompletedChallenge completedChallenge : profile.getCompletedChallenges()) {
-                    String challengeID = completedChallenge.challengeID();
-                    completedSection.set("%s.challengeListID".formatted(challengeID), completedChallenge.challengeListID());
-                    completedSection.set("%s.challengeID".formatted(challengeID), completedChallenge.challengeID());
-                    completedSection.set("%s.timeCompleted".formatted(challengeID), completedChallenge.timeCompleted());
+                UUID uuid = UUID.fromString(strUUID);
+                if (profileStore.exists(uuid)) {
+                    continue;
+                }
+
+                PlayerProfile profile = profileMap.get(uuid);
+                if (profile == null) {
+                    profile = buildProfile(uuid, data.getSection(strUUID));
+                    profileMap.put(uuid, profile);
+                }
+                else {
+                    loadProfile(profile, data.getSection(strUUID));
                 }
+                batch.add(snapshotProfile(profile));
+            } catch (Exception e) {
+                CobbleChallengeMod.logger.error("Failed to migrate cobblemonchallenges player profile: {}", strUUID);
+                e.printStackTrace();
+                failed++;
+            }
+        }
+
+        // keep the old file so failed profiles are retried next startup
+        if (failed > 0) {
+            CobbleChallengeMod.logger.error("Failed to migrate {} player profiles. player-data.yml was left in place.", failed);
+            return;
+        }
+
+        profileSaver.submit(batch).thenAccept(saved -> {
+            if (!saved) {
+                CobbleChallengeMod.logger.error("Failed to store migrated player profiles. player-data.yml was left in place.");
+                return;
+            }
+
+            File migratedFile = new File(legacyFile.getParentFile(), "player-data.yml.migrated");
+            if (!legacyFile.renameTo(migratedFile)) {
+                CobbleChallengeMod.logger.error("Unable to rename {} after migrating it.", legacyFile.getName());
+            }
+            CobbleChallengeMod.logger.info("Migrated {} player profiles from player-data.yml.", batch.size());
+        });
+    }
+
+    private void loadProfile(PlayerProfile profile, YamlConfig section) {
+        UUID uuid = profile.getUUID();
+        boolean canceled = false; // progress canceled by a rotation while this profile was not loaded
+
+        // legacy from when they were saved as a list
+        List<CompletedChallenge> completedChallenges = new ArrayList<>();
+
+        if (section.containsKey("completed-map")) {
+            YamlConfig completeSection = section.getSection("completed-map");
+
+            // due to an old bug, it can sometimes be double layered
+            if (completeSection.containsKey("completed-map")) {
+                completeSection = completeSection.getSection("completed-map");
+            }
+
+            for (String anyID : completeSection.getKeys("", false)) {
+                String challengeListID = completeSection.getString("%s.challengeListID".formatted(anyID));
+                String challengeID = completeSection.getString("%s.challengeID".formatted(anyID));
+                long lastTimeCompleted = completeSection.getLong("%s.timeCompleted".formatted(anyID));
+                completedChallenges.add(new CompletedChallenge(challengeListID, challengeID, lastTimeCompleted));
+            }
+        }
+        profile.setCompletedChallenges(completedChallenges);
+        profile.scheduleRepeatableCooldowns();
+        if (section.containsKey("progression")) {
+            YamlConfig progressionSection = section.getSection("progression");
+            // iterate over each challenge list
+            for (String strList : progressionSection.getKeys("", false)) {
+                YamlConfig listSection = progressionSection.getSection(strList);
+                ChallengeList list = getChallengeList(strList);
+
+                if(list != null) {
+                    // iterate over each challenge
+                    for (String strChallenge : listSection.getKeys("", false)) {
+                        Challenge challenge = list.getChallenge(strChallenge);
+                        // removed challenges are no longer loaded, ignore null challenges
+                        if (challenge != null) {
+                            ChallengeProgress progress = list.buildNewProgressForQuest(challenge, profile);
+                            YamlConfig challengeSection = listSection.getSection(strChallenge);
+
+                            progress.setStartTime(challengeSection.containsKey("startTime") ?
+                                    challengeSection.getLong("startTime") : System.currentTimeMillis());
+                            if (progress.getStartTime() < list.getLastCancelTime()) {
+                                canceled = true;
+                                continue;
+                            }
+
+                            // iterate over each requirement for challenge
+                            for (int index = 0; index < progress.getRequirementCount(); index++) {
+                                YamlConfig progSection = challengeSection.getSection(index + "." + progress.getRequirementName(index));
 
-                for (Map.Entry<String, List<ChallengeProgress>> set : profile.getActiveChallengesMap().entrySet()) {
-                    for (ChallengeProgress cp : set.getValue()) {
-                        YamlConfig challengeSection = profileEntry.getOrCreateSection(
-                                "progression.%s.%s".formatted(set.getKey(), cp.getActiveChallenge().getName()));
-                        challengeSection.set("startTime", cp.getStartTime());
-                        int index = 0;
-                        for (Pair<String, Progression<?>> progSet : cp.getProgressionMap()) {
-                            YamlConfig progSection = challengeSection.getOrCreateSection(
-                                    "%s.%s"
-                                            .formatted(index++, progSet.getKey()));
-                            progSet.getValue().writeTo(progSection);
+                                // if requirements change, this section may be null. ignore it.
+                                if (progSection != null)
+                                    progress.loadRequirement(index, uuid, progSection);
+                            }
+                            progress.recountCompletedRequirements();
+
+                            // untouched always-active challenges are held implicitly instead
+                            if (getAlwaysActiveIndex().isImplicit(challenge) && !progress.hasAnyProgress()) {
+                                continue;
+                            }
+
+                            profile.addActiveChallenge(progress);
                         }
                     }
                 }
+            }
+        }
+
+        // everything up to here matches the file. challenges added below still need saving
+        profile.markSaved(profile.getVersion());
+        if (canceled) {
+            profile.markDirty();
+        }
+
+        // only add unrestricted challenges after adding saved challenges
+        profile.addUnrestrictedChallenges();
+    }
+
+    /**
+     * Snapshot rotation data and every changed profile, then queue them to be written off-thread. Must be called on the
+     * server thread, which is the only thread that modifies profiles.
+     *
+     * @return Completes on the saver thread once the batch is written and the journal it covers is deleted
+     */
+    public synchronized CompletableFuture<Void> saveProfiles() {
+        // changes journaled up to here are in the snapshots below
+        long segment = journal.rotate();
+        boolean snapshotAll = true;
+
+        List<ProfileSaver.SaveSnapshot> batch = new ArrayList<>();
+        batch.add(snapshotRotationData());
+
+        for (PlayerProfile profile : getProfiles()) {
+            if (!profile.isDirty()) {
+                continue;
+            }
+
+            try {
+                batch.add(snapshotProfile(profile));
             } catch (Exception e) {
+                snapshotAll = false;
                 CobbleChallengeMod.logger.error("Error saving player profile: {}", profile.getUUID());
                 e.printStackTrace();
             }
         }
 
-        data.save();
+        // profiles that couldn't be recovered still depend on the journal
+        boolean covered = snapshotAll && unreplayed.isEmpty();
+        return profileSaver.submit(batch).thenCompose(saved -> {
+            // keep the journal until its changes are stored
+            if (!saved || !covered) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return profileSaver.supplyAfterPending(() -> {
+                journal.deleteSegmentsThrough(segment);
+                return null;
+            });
+        });
+    }
+
+    /**
+     * Snapshot this profile and queue it to be written, replacing whatever was stored before. Must be called on the
+     * server thread.
+     *
+     * @return Completes on the saver thread with whether it was stored
+     */
+    public CompletableFuture<Boolean> saveProfile(PlayerProfile profile) {
+        return profileSaver.submit(List.of(snapshotProfile(profile)));
+    }
+
+    private ProfileSaver.SaveSnapshot snapshotProfile(PlayerProfile profile) {
+        long version = profile.getVersion();
+        YamlConfig data = YamlConfig.direct(new LinkedHashMap<>());
+        writeProfile(profile, data);
+        return ProfileSaver.SaveSnapshot.ofProfile(profile, version, data);
+    }
+
+    private void writeProfile(PlayerProfile profile, YamlConfig profileEntry) {
+        YamlConfig completedSection = profileEntry.getOrCreateSection("completed-map");
+        for (CompletedChallenge completedChallenge : profile.getCompletedChallenges()) {
+            String challengeID = completedChallenge.challengeID();
+            completedSection.set("%s.challengeListID".formatted(challengeID), completedChallenge.challengeListID());
+            completedSection.set("%s.challengeID".formatted(challengeID), completedChallenge.challengeID());
+            completedSection.set("%s.timeCompleted".formatted(challengeID), completedChallenge.timeCompleted());
+        }
+
+        for (Map.Entry<String, List<ChallengeProgress>> set : profile.getActiveChallengesMap().entrySet()) {
+            for (ChallengeProgress cp : set.getValue()) {
+                YamlConfig challengeSection = profileEntry.getOrCreateSection(
+                        "progression.%s.%s".formatted(set.getKey(), cp.getActiveChallenge().getName()));
+                challengeSection.set("startTime", cp.getStartTime());
+                for (int index = 0; index < cp.getRequirementCount(); index++) {
+                    YamlConfig progSection = challengeSection.getOrCreateSection(
+                            "%s.%s"
+                                    .formatted(index, cp.getRequirementName(index)));
+                    cp.writeRequirement(index, progSection);
+                }
+            }
+        }
     }
 
     public void loadConfigs() {
@@ -167,46 +489,34 @@ public class CobbleChallengeAPI implements SimpleAPI {
     }
 
     private void loadChallenges() {
+        catalog = loadCatalog();
+    }
 
+    private ChallengeCatalog loadCatalog() {
         File parentFolder = new File(CobbleChallengeMod.defaultDataFolder(), "challenges");
         if (parentFolder.listFiles() == null || parentFolder.listFiles().length == 0) {
             parentFolder.delete();
         }
 
-        challengeListMap = new HashMap<>();
-        allChallengesByName = new HashMap<>();
-
-        for (File yamlFile : YamlConfig.getYamlFiles(parentFolder)) {
-            YamlConfig config = new YamlConfig(yamlFile.getParentFile(), null, null, yamlFile.getName(), getClass());
-
-            // remove ending
-            String name = yamlFile.getName();
-            if (name.contains(".")) {
-                name = name.substring(0, name.lastIndexOf('.')); // remove extension if possible
-            }
-
-            if (challengeListMap.containsKey(name)) {
-                CobbleChallengeMod.logger.error("Unable to load duplicate ChallengeList '{}'. Try giving it a unique name.", name);
-                continue;
-            }
+        return ChallengeCatalog.load(this, parentFolder);
+    }
 
-            ChallengeList cl = ChallengeList.load(this, name, config.getSection("challenge-list"));
-            challengeListMap.put(name, cl);
-            // Loading challenge config
-        }
+    /**
+     * @return The challenges currently in use. Read it once and keep the reference to see a single reload's challenges.
+     */
+    public ChallengeCatalog getCatalog() {
+        return catalog;
     }
 
     /**
-     * @param challenge
-     * @return Returns false if a challenge is already registered under that name
+     * @return Requirements of the always-active challenges that profiles hold implicitly
      */
-    public boolean registerChallenge(Challenge challenge) {
-        if (this.allChallengesByName.containsKey(challenge.getName())) {
-            return false;
-        }
+    public AlwaysActiveIndex getAlwaysActiveIndex() {
+        return catalog.getAlwaysActiveIndex();
+    }
 
-        this.allChallengesByName.put(challenge.getName(), challenge);
-        return true;
+    public ChallengeIdTable getChallengeIds() {
+        return challengeIds;
     }
 
     public ConfigOptions getConfigOptions() {
@@ -214,100 +524,254 @@ public class CobbleChallengeAPI implements SimpleAPI {
     }
 
     public ChallengeList getChallengeList(String id) {
-        return this.challengeListMap.get(id);
+        return catalog.getList(id);
     }
 
     public CobbleChallengeMod getMod() {
         return CobbleChallengeMod.instance;
     }
 
-    public PlayerProfile getOrCreateProfile(UUID uuid, boolean addChallenges) {
-        PlayerProfile pp = profileMap.computeIfAbsent(uuid, id -> new PlayerProfile(this, id));
-        if (addChallenges)
-            pp.addUnrestrictedChallenges(); // add challenges that dont require selection
-        return pp;
+    /**
+     * @return This player's profile if it is in memory, without loading it
+     */
+    public @Nullable PlayerProfile getLoadedProfile(UUID uuid) {
+        return profileMap.get(uuid);
     }
 
-    public PlayerProfile getOrCreateProfile(UUID uuid) {
-        return getOrCreateProfile(uuid, true);
+    /**
+     * Run this on the server thread with the player's profile. A profile that isn't in memory is read on the saver
+     * thread first, and actions waiting on it run in order once it is loaded. They are dropped if it fails to load.
+     * <p>
+     * This is the only way to get a profile that may not be loaded, so the server thread never waits on the store.
+     */
+    public void withProfile(UUID uuid, Consumer<PlayerProfile> action) {
+        PlayerProfile profile = profileMap.get(uuid);
+        if (profile != null) {
+            profile.touch();
+            profile.submit(() -> action.accept(profile));
+            return;
+        }
+
+        PendingProfile pending = pendingProfiles.computeIfAbsent(uuid, this::startLoading);
+        synchronized (pending) {
+            if (!pending.done) {
+                pending.waiting.add(action);
+                return;
+            }
+        }
+        // it finished loading between the lookups above
+        pendingProfiles.remove(uuid, pending);
+        withProfile(uuid, action);
     }
 
-    @Override
-    public ComponentEditor getMessage(String key, Object... replacements) {
-        ComponentEditor edit = configOptions.messages.getOrDefault(key, new ComponentEditor(key)).copy();
+    private PendingProfile startLoading(UUID uuid) {
+        interestRegistry.setLoading(uuid, true); // events arriving meanwhile wait for the load
+        PendingProfile pending = new PendingProfile(readStoredProfile(uuid));
+        pending.read.whenCompleteAsync((data, e) -> finishLoading(uuid, pending, data, e), CobbleChallengeMod.getMinecraftServer());
+        return pending;
+    }
+
+    /**
+     * Publish a profile read by {@link #startLoading}, then run the actions that waited on it
+     */
+    private void finishLoading(UUID uuid, PendingProfile pending, @Nullable YamlConfig data, @Nullable Throwable e) {
+        pendingProfiles.remove(uuid, pending);
+
+        PlayerProfile profile = profileMap.get(uuid); // may have been loaded at startup meanwhile
+        if (profile == null && e == null) {
+            try {
+                profile = buildProfile(uuid, data);
+                profileMap.put(uuid, profile);
+            } catch (Exception ex) {
+                e = ex;
+            }
+        }
 
-        // used to prevent infinite loops
-        if (!key.equals("prefix")) {
-            edit = edit.replace("{prefix}", getMessage("prefix").getText());
+        List<Consumer<PlayerProfile>> waiting;
+        synchronized (pending) {
+            pending.done = true;
+            waiting = new ArrayList<>(pending.waiting);
+            pending.waiting.clear();
         }
 
-        if (replacements.length % 2 != 0) {
-            throw new IllegalArgumentException("Key was not provided with a replacement");
+        if (profile == null) {
+            interestRegistry.setLoading(uuid, false);
+            CobbleChallengeMod.logger.error("Failed to load cobblemonchallenges player profile: {}. {} changes to it were dropped.", uuid, waiting.size());
+            e.printStackTrace();
+            return;
         }
 
-        if (replacements.length > 0) {
-            for (int i = 0; i < replacements.length; i += 2) {
-                edit = edit.replace(replacements[i].toString(), replacements[i + 1].toString());
+        for (Consumer<PlayerProfile> action : waiting) {
+            PlayerProfile loaded = profile;
+            loaded.submit(() -> action.accept(loaded));
+        }
+        // the profile has registered its own interest by now
+        interestRegistry.setLoading(uuid, false);
+    }
+
+    /**
+     * Read a stored profile on the saver thread, after any of its pending writes. Journaled changes that weren't
+     * recovered at startup are applied to it.
+     *
+     * @return The stored data, or null if this player has none
+     */
+    private CompletableFuture<YamlConfig> readStoredProfile(UUID uuid) {
+        return profileSaver.supplyAfterPending(() -> {
+            try {
+                return readProfile(uuid, unreplayed.get(uuid));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Build a profile from its stored data. It isn't published, and everything it registered is released if loading
+     * fails, so a half-loaded profile is never used or saved.
+     */
+    private PlayerProfile buildProfile(UUID uuid, @Nullable YamlConfig data) {
+        PlayerProfile profile = new PlayerProfile(this, uuid);
+        try {
+            if (data != null) {
+                loadProfile(profile, data);
+            }
+            else {
+                profile.addUnrestrictedChallenges();
             }
+        } catch (RuntimeException e) {
+            profile.unload();
+            throw e;
         }
 
-        return edit;
+        if (unreplayed.remove(uuid) != null) {
+            // its journaled changes were applied when it was read, and are only safe once it is saved
+            profile.markDirty();
+        }
+        return profile;
     }
 
     /**
-     * Get a message using MiniMessage formatting
-     * @param key The message key
-     * @param replacements Key-value pairs for placeholder replacement
-     * @return Adventure Component with MiniMessage formatting
+     * A profile being read from the store, and the actions waiting to run on it
      */
-    public net.kyori.adventure.text.Component getMiniMessage(String key, Object... replacements) {
-        String messageText = configOptions.messages.getOrDefault(key, new ComponentEditor(key)).getText();
+    private static final class PendingProfile {
+        private final CompletableFuture<YamlConfig> read;
+        private final List<Consumer<PlayerProfile>> waiting = new ArrayList<>(); // guarded by this
+        private boolean done; // guarded by this
 
-        // Replace prefix if not the prefix key itself
-        if (!key.equals("prefix")) {
-            String prefixText = configOptions.messages.getOrDefault("prefix", new ComponentEditor("")).getText();
-            messageText = messageText.replace("{prefix}", prefixText);
+        private PendingProfile(CompletableFuture<YamlConfig> read) {
+            this.read = read;
         }
+    }
 
-        // Replace other placeholders
-        if (replacements.length > 0) {
-            if (replacements.length % 2 != 0) {
-                throw new IllegalArgumentException("Key was not provided with a replacement");
-            }
+    /**
+     * Unload offline profiles that have been idle too long, then the least recently used ones above the cache limit.
+     * Profiles with unsaved changes stay until a save has written them.
+     */
+    public void evictIdleProfiles() {
+        if (!configOptions.getProfilePreload().equals("none")) {
+            return; // preloading keeps every profile in memory
+        }
 
-            for (int i = 0; i < replacements.length; i += 2) {
-                messageText = messageText.replace(replacements[i].toString(), replacements[i + 1].toString());
+        long idleMillis = configOptions.getOfflineProfileIdleSeconds() * 1000L;
+        long now = System.currentTimeMillis();
+
+        List<PlayerProfile> offline = new ArrayList<>();
+        for (PlayerProfile profile : getProfiles()) {
+            if (!profile.isOnline()) {
+                offline.add(profile);
             }
         }
+        offline.sort(Comparator.comparingLong(PlayerProfile::getLastAccess));
+
+        int excess = offline.size() - configOptions.getMaxCachedOfflineProfiles();
+        int evicted = 0;
+        for (PlayerProfile profile : offline) {
+            // sorted oldest first, so nothing after this is idle either
+            if (excess <= 0 && now - profile.getLastAccess() < idleMillis) {
+                break;
+            }
+            if (profile.isDirty()) {
+                continue;
+            }
 
-        return MiniMessageUtils.parse(messageText);
+            profileMap.remove(profile.getUUID());
+            profile.unload();
+            excess--;
+            evicted++;
+        }
+
+        if (evicted > 0 && configOptions.isDebug()) {
+            CobbleChallengeMod.logger.info("Unloaded {} offline player profiles. {} profiles remain loaded.", evicted, profileMap.size());
+        }
     }
 
     /**
-     * Process raw MiniMessage text directly (for challenge descriptions, etc.)
-     * @param miniMessageText The raw MiniMessage text to process
-     * @param replacements Key-value pairs for placeholder replacement
-     * @return Adventure Component with MiniMessage formatting
+     * @return Storage that player profiles are saved to
      */
-    public net.kyori.adventure.text.Component parseMiniMessage(String miniMessageText, Object... replacements) {
-        if (miniMessageText == null || miniMessageText.isEmpty()) {
-            return net.kyori.adventure.text.Component.empty();
-        }
+    public ProfileStore getProfileStore() {
+        return profileStore;
+    }
 
-        String processedText = miniMessageText;
+    /**
+     * @return Log of profile changes made since the last save
+     */
+    public ProgressJournal getJournal() {
+        return journal;
+    }
 
-        // Replace placeholders if provided
-        if (replacements.length > 0) {
-            if (replacements.length % 2 != 0) {
-                throw new IllegalArgumentException("Key was not provided with a replacement");
-            }
+    /**
+     * @return Writer for saved data, which also tracks save metrics
+     */
+    public ProfileSaver getProfileSaver() {
+        return profileSaver;
+    }
+
+    /**
+     * @return Registry of which players hold a progression for each event type
+     */
+    public EventInterestRegistry getInterestRegistry() {
+        return interestRegistry;
+    }
+
+    /**
+     * @return Time limit deadlines of active challenges
+     */
+    public DeadlineQueue<ChallengeProgress> getTimeLimits() {
+        return timeLimits;
+    }
 
+    /**
+     * @return Cooldowns of completed repeatable challenges, due when they can be repeated
+     */
+    public DeadlineQueue<RepeatableCooldown> getRepeatableCooldowns() {
+        return repeatableCooldowns;
+    }
+
+    @Override
+    public ComponentEditor getMessage(String key, Object... replacements) {
+        ComponentEditor edit = configOptions.getMessage(key).newEditor();
+
+        if (replacements.length % 2 != 0) {
+            throw new IllegalArgumentException("Key was not provided with a replacement");
+        }
+
+        if (replacements.length > 0) {
             for (int i = 0; i < replacements.length; i += 2) {
-                processedText = processedText.replace(replacements[i].toString(), replacements[i + 1].toString());
+                edit = edit.replace(replacements[i].toString(), replacements[i + 1].toString());
             }
         }
 
-        return MiniMessageUtils.parse(processedText);
+        return edit;
+    }
+
+    /**
+     * Get a message using MiniMessage formatting
+     * @param key The message key
+     * @param replacements Key-value pairs for placeholder replacement. Values may be Adventure Components.
+     * @return Adventure Component with MiniMessage formatting
+     */
+    public net.kyori.adventure.text.Component getMiniMessage(String key, Object... replacements) {
+        return configOptions.getMessage(key).render(replacements);
     }
 
     /**
@@ -321,26 +785,67 @@ public class CobbleChallengeAPI implements SimpleAPI {
         return FabricAdapter.adapt(adventureComponent);
     }
 
+    /**
+     * @return A read-only view of every challenge list
+     */
     public Collection<ChallengeList> getChallengeLists() {
-        return new HashSet<>(challengeListMap.values());
-    }
-
-    public String getRawMiniMessageString(String key) {
-        ComponentEditor editor = configOptions.messages.getOrDefault(key, new ComponentEditor(key));
-        return editor.getText();
+        return catalog.getLists();
     }
 
-    public void reloadConfig() {
+    /**
+     * Reload config options and challenges. Both are loaded off the server thread, then published together on it.
+     * Loaded profiles move their progress onto the new challenges in place instead of being saved and read back.
+     *
+     * @return Completed on the server thread once the new challenges are in use
+     */
+    public CompletableFuture<Void> reloadConfig() {
         // Prevent rotation during reload
         CobbleChallengeMod.preventRotationOnReload = true;
 
-        saveProfiles();
-        loadConfigOptions();
-        loadChallenges();
-        loadProfiles();
+        MinecraftServer server = CobbleChallengeMod.getMinecraftServer();
+        return CompletableFuture.supplyAsync(() -> {
+                    ConfigOptions options = new ConfigOptions();
+                    options.load();
+                    return new LoadedConfig(options, loadCatalog());
+                }, Util.backgroundExecutor())
+                .thenAcceptAsync(loaded -> publish(loaded.options(), loaded.catalog()), server)
+                .whenCompleteAsync((result, e) -> {
+                    if (e != null) {
+                        CobbleChallengeMod.logger.error("Failed to reload challenges. The previous challenges are still in use.");
+                        e.printStackTrace();
+                    }
+
+                    // Re-enable rotation after reload
+                    CobbleChallengeMod.preventRotationOnReload = false;
+                }, server);
+    }
+
+    /**
+     * Swap in reloaded config options and challenges, then rebind every loaded profile to them
+     */
+    private void publish(ConfigOptions options, ChallengeCatalog reloaded) {
+        ChallengeCatalog previous = catalog;
+        for (ChallengeList list : reloaded.getLists()) {
+            ChallengeList old = previous.getList(list.getName());
+            if (old != null) {
+                list.copyRotationFrom(old);
+            }
+        }
+
+        configOptions = options;
+        catalog = reloaded;
+
+        for (PlayerProfile profile : getProfiles()) {
+            try {
+                profile.rebindChallenges(reloaded);
+            } catch (Exception e) {
+                CobbleChallengeMod.logger.error("Failed to move player {} onto the reloaded challenges.", profile.getUUID());
+                e.printStackTrace();
+            }
+        }
+    }
 
-        // Re-enable rotation after reload
-        CobbleChallengeMod.preventRotationOnReload = false;
+    private record LoadedConfig(ConfigOptions options, ChallengeCatalog catalog) {
     }
 
     public List<PlayerProfile> getProfiles() {
@@ -351,6 +856,9 @@ public class CobbleChallengeAPI implements SimpleAPI {
         YamlConfig rotationData = new YamlConfig(CobbleChallengeMod.defaultDataFolder(), "rotation-data.yml");
         String listName = challengeList.getName();
 
+        if (rotationData.containsKey(listName + ".last-cancel-time")) {
+            challengeList.setLastCancelTime(rotationData.getLong(listName + ".last-cancel-time"));
+        }
         if (rotationData.containsKey(listName + ".last-rotation-time")) {
             long lastRotationTime = rotationData.getLong(listName + ".last-rotation-time");
             challengeList.setLastRotationTime(lastRotationTime);
@@ -365,13 +873,13 @@ public class CobbleChallengeAPI implements SimpleAPI {
         return false; // No rotation data found for this challenge list
     }
     
-    private void saveRotationData() {
-        YamlConfig rotationData = new YamlConfig(CobbleChallengeMod.defaultDataFolder(), "rotation-data.yml");
-        rotationData.clear();
-        
-        for (ChallengeList challengeList : challengeListMap.values()) {
+    private ProfileSaver.SaveSnapshot snapshotRotationData() {
+        YamlConfig rotationData = YamlConfig.direct(new LinkedHashMap<>());
+
+        for (ChallengeList challengeList : catalog.getLists()) {
             String listName = challengeList.getName();
             rotationData.set(listName + ".last-rotation-time", challengeList.getLastRotationTime());
+            rotationData.set(listName + ".last-cancel-time", challengeList.getLastCancelTime());
             
             // Save current visible challenges
             List<String> visibleChallengeNames = new ArrayList<>();
@@ -380,21 +888,24 @@ public class CobbleChallengeAPI implements SimpleAPI {
             }
             rotationData.set(listName + ".visible-challenges", visibleChallengeNames);
         }
-        
-        rotationData.save();
+
+        return ProfileSaver.SaveSnapshot.ofFile(new File(CobbleChallengeMod.defaultDataFolder(), "rotation-data.yml"), rotationData);
     }
     
     private void loadRotationData() {
         YamlConfig rotationData = new YamlConfig(CobbleChallengeMod.defaultDataFolder(), "rotation-data.yml");
         
-        if (challengeListMap == null || challengeListMap.isEmpty()) {
+        if (catalog.getLists().isEmpty()) {
             // No challenge lists loaded yet
             return;
         }
         
-        for (ChallengeList challengeList : challengeListMap.values()) {
+        for (ChallengeList challengeList : catalog.getLists()) {
             String listName = challengeList.getName();
             
+            if (rotationData.containsKey(listName + ".last-cancel-time")) {
+                challengeList.setLastCancelTime(rotationData.getLong(listName + ".last-cancel-time"));
+            }
             if (rotationData.containsKey(listName + ".last-rotation-time")) {
                 long lastRotationTime = rotationData.getLong(listName + ".last-rotation-time");
                 challengeList.setLastRotationTime(lastRotationTime);
@@ -15,7 +15,9 @@ import com.github.kuramastone.cobblemonChallenges.events.PlayTimeScheduler;
 import com.github.kuramastone.cobblemonChallenges.events.PlayerJoinEvent;
 import com.github.kuramastone.cobblemonChallenges.listeners.ChallengeListener;
 import com.github.kuramastone.cobblemonChallenges.listeners.TickScheduler;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+import com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress;
+import com.github.kuramastone.cobblemonChallenges.player.RepeatableCooldown;
+import com.github.kuramastone.cobblemonChallenges.utils.ConfigOptions;
 import dev.neovitalism.neodaycare.api.NeoDaycareEvents;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
@@ -33,7 +35,7 @@ import revxrsal.commands.fabric.FabricLampConfig;
 import revxrsal.commands.fabric.actor.FabricCommandActor;
 
 import java.io.File;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CobbleChallengeMod implements ModInitializer {
 
@@ -58,7 +60,9 @@ public class CobbleChallengeMod implements ModInitializer {
         ServerLifecycleEvents.SERVER_STOPPED.register(this::onServerStopped);
         ServerLifecycleEvents.SERVER_STOPPED.register(server -> onStopped());
         startSaveScheduler();
+        startProfileEvictionScheduler();
         startRepeatableScheduler();
+        startTimeLimitScheduler();
         startRotationScheduler();
         OldCommandHandler.register();
 //        registerCommands(); // Disabled - requires fabric-permissions-api
@@ -103,23 +107,69 @@ public class CobbleChallengeMod implements ModInitializer {
 
 
     private void startSaveScheduler() {
-        TickScheduler.scheduleRepeating(20 * 60 * 30, () -> {
-            CompletableFuture.runAsync(() -> api.saveProfiles());
+        // only changed profiles are written, so saves can run often
+        AtomicInteger secondsSinceSave = new AtomicInteger();
+        TickScheduler.scheduleRepeating(20, () -> {
+            ConfigOptions options = api.getConfigOptions();
+            if (options != null && secondsSinceSave.incrementAndGet() >= options.getSaveIntervalSeconds()) {
+                secondsSinceSave.set(0);
+                // snapshots are taken here on the server thread and written by the saver's own thread
+                try {
+                    api.saveProfiles();
+                } catch (Exception e) {
+                    logger.error("Error saving player profiles!");
+                    e.printStackTrace();
+                }
+            }
+            return true; // a failed save must not stop later ones
+        });
+    }
+
+    private void startProfileEvictionScheduler() {
+        TickScheduler.scheduleRepeating(20 * 10, () -> {
+            if (api.getConfigOptions() != null) {
+                try {
+                    api.evictIdleProfiles();
+                } catch (Exception e) {
+                    logger.error("Error evicting idle player profiles!");
+                    e.printStackTrace();
+                }
+            }
             return true;
         });
     }
 
     private void startRepeatableScheduler() {
         TickScheduler.scheduleRepeating(20, () -> {
-
-            for (PlayerProfile profile : api.getProfiles()) {
-                profile.refreshRepeatableChallenges();
+            // only cooldowns that have run out are taken from the queue
+            for (RepeatableCooldown cooldown : api.getRepeatableCooldowns().pollExpired(System.currentTimeMillis())) {
+                try {
+                    api.withProfile(cooldown.player(), profile -> profile.expireCooldown(cooldown.completed()));
+                } catch (Exception e) {
+                    logger.error("Error refreshing repeatable challenge!");
+                    e.printStackTrace();
+                }
             }
-
             return true;
         });
     }
     
+    private void startTimeLimitScheduler() {
+        TickScheduler.scheduleRepeating(1, () -> {
+            for (ChallengeProgress progress : api.getTimeLimits().pollExpired(System.currentTimeMillis())) {
+                try {
+                    if (progress.isTracked()) {
+                        progress.timeRanOut();
+                    }
+                } catch (Exception e) {
+                    logger.error("Error expiring challenge!");
+                    e.printStackTrace();
+                }
+            }
+            return true;
+        });
+    }
+
     private void startRotationScheduler() {
         // Check for mission rotation every 10 minutes (or every 30 seconds in testing mode)
         TickScheduler.scheduleRepeating(20 * 30, () -> { // Check every 30 seconds for faster testing feedback
@@ -137,17 +187,25 @@ public class CobbleChallengeMod implements ModInitializer {
     }
 
     private void onStopped() {
-        api.saveProfiles();
+        try {
+            // wait for the journal to be deleted too, so leftover segments aren't replayed over the saved profiles
+            api.saveProfiles().join();
+        } catch (Exception e) {
+            logger.error("Error saving player profiles!");
+            e.printStackTrace();
+        }
+        api.closeProfileStore();
     }
 
     private void registerTrackedEvents() {
         ServerTickEvents.START_SERVER_TICK.register(TickScheduler::onServerTick);
+        ServerTickEvents.END_SERVER_TICK.register(server -> api.getJournal().flush());
 
         ChallengeListener.register();
         BlockBreakEvent.register();
         BlockPlaceEvent.register();
         PlayerJoinEvent.register();
-        ServerTickEvents.START_SERVER_TICK.register(PlayTimeScheduler::onServerTick);
+        PlayTimeScheduler.register();
         CobblemonEvents.POKEMON_CAPTURED.subscribe(Priority.HIGHEST, ChallengeListener::onPokemonCaptured);
         CobblemonEvents.POKEMON_SCANNED.subscribe(Priority.HIGHEST, ChallengeListener::onPokemonPokedexScanned);
         CobblemonEvents.BATTLE_VICTORY.subscribe(Priority.HIGHEST, ChallengeListener::onBattleVictory);
@@ -2,24 +2,19 @@ package com.github.kuramastone.cobblemonChallenges;
 
 import com.cobblemon.mod.common.api.events.battles.BattleFaintedEvent;
 import com.cobblemon.mod.common.api.events.fishing.BobberSpawnPokemonEvent;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Progression;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.CounterRequirement;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.EventContext;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.PokemonFacts;
 import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Requirement;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.PixelmonUtils;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
 
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-public class FishPokemonRequirement implements Requirement {
+public class FishPokemonRequirement implements CounterRequirement {
     public static final String ID = "Fish_Pokemon";
 
     @YamlKey("pokename")
@@ -38,9 +33,17 @@ public class FishPokemonRequirement implements Requirement {
     @YamlKey("is_ultra_beast")
     private boolean is_ultra_beast = false;
 
+    private NameFilter pokenameFilter;
+    private TypeFilter typeFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
     @Override
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     @Override
@@ -49,106 +52,53 @@ public class FishPokemonRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new FishPokemonProgression(profile, this);
+    public Class<BobberSpawnPokemonEvent.Post> getType() {
+        return BobberSpawnPokemonEvent.Post.class;
     }
 
-    public static class FishPokemonProgression implements Progression<BobberSpawnPokemonEvent.Post> {
-        private PlayerProfile profile;
-        public FishPokemonRequirement requirement;
-        private int progressAmount;
-
-        public FishPokemonProgression(PlayerProfile profile, FishPokemonRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public Class<BobberSpawnPokemonEvent.Post> getType() {
-            return BobberSpawnPokemonEvent.Post.class;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        BobberSpawnPokemonEvent.Post event = getType().cast(obj);
+        return meetsCriteria(event, context) ? 1 : 0;
+    }
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
+    private boolean meetsCriteria(BobberSpawnPokemonEvent.Post event, EventContext context) {
+        Pokemon pokemon = event.getPokemon().getPokemon();
+        PokemonFacts facts = context.getFacts(pokemon);
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                }
-            }
+        if (!pokenameFilter.matches(facts.getSpeciesName())) {
+            return false;
         }
 
-        @Override
-        public boolean meetsCriteria(BobberSpawnPokemonEvent.Post event) {
-            Pokemon pokemon = event.getPokemon().getPokemon();
-            String pokename = pokemon.getSpecies().getName();
-            boolean shiny = pokemon.getShiny();
-            List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).collect(Collectors.toUnmodifiableList());
-            long time_of_day = event.getBobber().getOwner().level().getDayTime();
-            boolean is_legendary = pokemon.isLegendary();
-            boolean is_ultra_beast = pokemon.isUltraBeast();
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                return false;
-            }
-
-            if (requirement.shiny && !shiny) {
-                return false;
-            }
-
-            if (!requirement.pokemon_type.toLowerCase().startsWith("any") &&
-                    types.stream().map(ElementalType::getName).noneMatch(requirement.pokemon_type::equalsIgnoreCase)) {
-                return false;
-            }
-
-            if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                    !PixelmonUtils.doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                return false;
-            }
-
-            if (requirement.is_legendary && !is_legendary) {
-                return false;
-            }
-
-            if (requirement.is_ultra_beast && !is_ultra_beast) {
-                return false;
-            }
-
-            return true;
+        if (shiny && !facts.isShiny()) {
+            return false;
         }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
+        if (!typeFilter.matchesAny(facts.getTypeNames())) {
+            return false;
         }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+        if (!timeOfDayFilter.isAny() &&
+                !timeOfDayFilter.matches(context.getDayTime(event.getBobber().getOwner().level()))) {
+            return false;
         }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (is_legendary && !facts.isLegendary()) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (is_ultra_beast && !facts.isUltraBeast()) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                    CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                    "{current}", String.valueOf(this.progressAmount),
-                    "{target}", String.valueOf(this.requirement.amount)));
-        }
+        return true;
     }
 }
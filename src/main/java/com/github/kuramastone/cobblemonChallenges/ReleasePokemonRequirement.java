@@ -1,23 +1,21 @@
 package com.github.kuramastone.cobblemonChallenges;
 
 import com.cobblemon.mod.common.api.events.storage.ReleasePokemonEvent;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Progression;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.CounterRequirement;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.EventContext;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.PokemonFacts;
 import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Requirement;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.PixelmonUtils;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
-import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
-public class ReleasePokemonRequirement implements Requirement {
+public class ReleasePokemonRequirement implements CounterRequirement {
     public static final String ID = "Release_Pokemon";
 
     @YamlKey("pokename")
@@ -36,9 +34,17 @@ public class ReleasePokemonRequirement implements Requirement {
     @YamlKey("is_ultra_beast")
     private boolean is_ultra_beast = false;
 
+    private NameFilter pokenameFilter;
+    private TypeFilter typeFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
     @Override
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     @Override
@@ -47,106 +53,53 @@ public class ReleasePokemonRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new ReleasePokemonProgression(profile, this);
+    public Class<ReleasePokemonEvent.Post> getType() {
+        return ReleasePokemonEvent.Post.class;
     }
 
-    public static class ReleasePokemonProgression implements Progression<ReleasePokemonEvent.Post> {
-        private PlayerProfile profile;
-        public ReleasePokemonRequirement requirement;
-        private int progressAmount;
-
-        public ReleasePokemonProgression(PlayerProfile profile, ReleasePokemonRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public Class<ReleasePokemonEvent.Post> getType() {
-            return ReleasePokemonEvent.Post.class;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        ReleasePokemonEvent.Post event = getType().cast(obj);
+        return meetsCriteria(event, context) ? 1 : 0;
+    }
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
+    private boolean meetsCriteria(ReleasePokemonEvent.Post event, EventContext context) {
+        Pokemon pokemon = event.getPokemon();
+        PokemonFacts facts = context.getFacts(pokemon);
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                }
-            }
+        if (!pokenameFilter.matches(facts.getSpeciesName())) {
+            return false;
         }
 
-        @Override
-        public boolean meetsCriteria(ReleasePokemonEvent.Post event) {
-            Pokemon pokemon = event.getPokemon();
-            String pokename = pokemon.getSpecies().getName();
-            boolean shiny = pokemon.getShiny();
-            List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).collect(Collectors.toUnmodifiableList());
-            long time_of_day = event.getPlayer().level().getDayTime();
-            boolean is_legendary = pokemon.isLegendary();
-            boolean is_ultra_beast = pokemon.isUltraBeast();
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                return false;
-            }
-
-            if (requirement.shiny && !shiny) {
-                return false;
-            }
-
-            if (!requirement.pokemon_type.toLowerCase().startsWith("any") &&
-                    types.stream().map(ElementalType::getName).noneMatch(requirement.pokemon_type::equalsIgnoreCase)) {
-                return false;
-            }
-
-            if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                    !PixelmonUtils.doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                return false;
-            }
-
-            if (requirement.is_legendary && !is_legendary) {
-                return false;
-            }
-
-            if (requirement.is_ultra_beast && !is_ultra_beast) {
-                return false;
-            }
-
-            return true;
+        if (shiny && !facts.isShiny()) {
+            return false;
         }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
+        if (!typeFilter.matchesAny(facts.getTypeNames())) {
+            return false;
         }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+        if (!timeOfDayFilter.isAny() &&
+                !timeOfDayFilter.matches(context.getDayTime(event.getPlayer().level()))) {
+            return false;
         }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (is_legendary && !facts.isLegendary()) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (is_ultra_beast && !facts.isUltraBeast()) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                    CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                    "{current}", String.valueOf(this.progressAmount),
-                    "{target}", String.valueOf(this.requirement.amount)));
-        }
+        return true;
     }
 }
@@ -0,0 +1,121 @@
+package com.github.kuramastone.cobblemonChallenges.challenges;
+
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.CounterRequirement;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Requirement;
+import com.github.kuramastone.cobblemonChallenges.events.Played1SecondEvent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Requirements of always-active challenges, indexed by the event type they consume. Profiles hold these challenges
+ * implicitly with zero progress, and only create a progress object once an event advances one.
+ * <p>
+ * Only a {@link CounterRequirement} can tell whether an event counts without building a progression, so challenges
+ * with any other requirement are kept apart and always created up front. This includes playtime, which advances
+ * without events reaching the profile.
+ */
+public class AlwaysActiveIndex {
+
+    public static final AlwaysActiveIndex EMPTY = new AlwaysActiveIndex(Map.of(), List.of());
+    private static final Entry[] NONE = new Entry[0];
+
+    private final Map<Class<?>, Entry[]> byType;
+    private final Set<Class<?>> eventTypes;
+    private final List<Entry> eagerChallenges; // one entry per challenge, with an index of -1
+    private final Set<Challenge> implicitChallenges;
+
+    private AlwaysActiveIndex(Map<Class<?>, Entry[]> byType, List<Entry> eagerChallenges) {
+        this.byType = byType;
+        this.eventTypes = Collections.unmodifiableSet(byType.keySet());
+        this.eagerChallenges = eagerChallenges;
+        this.implicitChallenges = new HashSet<>();
+        for (Entry[] entries : byType.values()) {
+            for (Entry entry : entries) {
+                implicitChallenges.add(entry.challenge());
+            }
+        }
+    }
+
+    public static AlwaysActiveIndex build(Collection<ChallengeList> lists) {
+        Map<Class<?>, List<Entry>> byType = new HashMap<>();
+        List<Entry> eagerChallenges = new ArrayList<>();
+
+        for (ChallengeList list : lists) {
+            for (Challenge challenge : list.getChallengeMap()) {
+                if (challenge.doesNeedSelection()) {
+                    continue;
+                }
+
+                List<Requirement> requirements = challenge.getRequirements();
+                if (!isImplicit(requirements)) {
+                    eagerChallenges.add(new Entry(list, challenge, -1, null));
+                    continue;
+                }
+                for (int i = 0; i < requirements.size(); i++) {
+                    CounterRequirement counter = (CounterRequirement) requirements.get(i);
+                    byType.computeIfAbsent(counter.getType(), (key) -> new ArrayList<>())
+                            .add(new Entry(list, challenge, i, counter));
+                }
+            }
+        }
+
+        Map<Class<?>, Entry[]> arrays = new HashMap<>();
+        byType.forEach((type, entries) -> arrays.put(type, entries.toArray(Entry[]::new)));
+        return new AlwaysActiveIndex(arrays, Collections.unmodifiableList(eagerChallenges));
+    }
+
+    private static boolean isImplicit(List<Requirement> requirements) {
+        if (requirements.isEmpty()) {
+            return false; // no event would ever create it
+        }
+        for (Requirement requirement : requirements) {
+            if (!(requirement instanceof CounterRequirement counter) || counter.getType() == Played1SecondEvent.class) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Requirements of implicit challenges that consume exactly this event type
+     */
+    public Entry[] get(Class<?> eventType) {
+        Entry[] entries = byType.get(eventType);
+        return entries == null ? NONE : entries;
+    }
+
+    /**
+     * @return Every event type consumed by an implicit challenge. The same set is returned until challenges reload.
+     */
+    public Set<Class<?>> getEventTypes() {
+        return eventTypes;
+    }
+
+    /**
+     * @return True if profiles hold this challenge implicitly until it makes progress
+     */
+    public boolean isImplicit(Challenge challenge) {
+        return implicitChallenges.contains(challenge);
+    }
+
+    /**
+     * @return Always-active challenges that need a progress object as soon as a profile is loaded
+     */
+    public List<Entry> getEagerChallenges() {
+        return eagerChallenges;
+    }
+
+    /**
+     * @param index       The requirement's position in its challenge, or -1 for eager challenges
+     * @param requirement The requirement at that position, or null for eager challenges
+     */
+    public record Entry(ChallengeList list, Challenge challenge, int index, CounterRequirement requirement) {
+    }
+}
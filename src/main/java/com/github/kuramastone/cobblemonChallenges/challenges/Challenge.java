@@ -18,6 +18,7 @@ import java.util.List;
 public class Challenge {
 
     private String name;
+    private int id = -1; // dense id assigned when registered, see ChallengeIdTable
     private ItemConfig displayItem;
     private List<Reward> rewards;
     private List<Requirement> requirements;
@@ -90,6 +91,17 @@ public class Challenge {
         return repeatableEveryMilliseconds != -1;
     }
 
+    /**
+     * @return This challenge's id in the {@link ChallengeIdTable}, or -1 if it isn't registered
+     */
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public String getName() {
         return name;
     }
@@ -0,0 +1,81 @@
+package com.github.kuramastone.cobblemonChallenges.challenges;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeAPI;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Every challenge list loaded from the challenges folder, with the lookups built from them. The set of lists and
+ * challenges never changes once built, so a reload builds a new catalog off the server thread and swaps it in whole.
+ */
+public class ChallengeCatalog {
+
+    public static final ChallengeCatalog EMPTY = new ChallengeCatalog(Map.of(), Map.of());
+
+    private final Map<String, ChallengeList> lists;
+    private final Map<String, Challenge> challengesByName;
+    private final AlwaysActiveIndex alwaysActiveIndex;
+
+    private ChallengeCatalog(Map<String, ChallengeList> lists, Map<String, Challenge> challengesByName) {
+        this.lists = Collections.unmodifiableMap(lists);
+        this.challengesByName = Collections.unmodifiableMap(challengesByName);
+        this.alwaysActiveIndex = lists.isEmpty() ? AlwaysActiveIndex.EMPTY : AlwaysActiveIndex.build(lists.values());
+    }
+
+    /**
+     * Load every challenge list in this folder. Nothing outside the new catalog is changed, so this may run off the
+     * server thread.
+     */
+    public static ChallengeCatalog load(CobbleChallengeAPI api, File folder) {
+        Map<String, ChallengeList> lists = new LinkedHashMap<>();
+        Map<String, Challenge> challengesByName = new HashMap<>();
+
+        for (File yamlFile : YamlConfig.getYamlFiles(folder)) {
+            YamlConfig config = new YamlConfig(yamlFile.getParentFile(), null, null, yamlFile.getName(), CobbleChallengeAPI.class);
+
+            // remove ending
+            String name = yamlFile.getName();
+            if (name.contains(".")) {
+                name = name.substring(0, name.lastIndexOf('.')); // remove extension if possible
+            }
+
+            if (lists.containsKey(name)) {
+                CobbleChallengeMod.logger.error("Unable to load duplicate ChallengeList '{}'. Try giving it a unique name.", name);
+                continue;
+            }
+
+            lists.put(name, ChallengeList.load(api, name, config.getSection("challenge-list"), challengesByName));
+        }
+
+        return new ChallengeCatalog(lists, challengesByName);
+    }
+
+    public ChallengeList getList(String name) {
+        return lists.get(name);
+    }
+
+    /**
+     * @return Every challenge list, in the order they were loaded
+     */
+    public Collection<ChallengeList> getLists() {
+        return lists.values();
+    }
+
+    public Challenge getChallenge(String name) {
+        return challengesByName.get(name);
+    }
+
+    /**
+     * @return Requirements of the always-active challenges that profiles hold implicitly
+     */
+    public AlwaysActiveIndex getAlwaysActiveIndex() {
+        return alwaysActiveIndex;
+    }
+}
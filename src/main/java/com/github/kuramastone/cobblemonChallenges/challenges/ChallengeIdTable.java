@@ -0,0 +1,33 @@
+package com.github.kuramastone.cobblemonChallenges.challenges;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Assigns every challenge name a dense int id, ignoring case. Ids are never reassigned, so ids held by loaded profiles
+ * stay valid when challenges are reloaded.
+ */
+public class ChallengeIdTable {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * @return The id of this name, assigning the next free id if it has none yet
+     */
+    public synchronized int idOf(String name) {
+        return ids.computeIfAbsent(name.toLowerCase(Locale.ROOT), (key) -> ids.size());
+    }
+
+    /**
+     * @return The id of this name, or -1 if it has never been assigned one
+     */
+    public synchronized int find(String name) {
+        Integer id = ids.get(name.toLowerCase(Locale.ROOT));
+        return id == null ? -1 : id;
+    }
+
+    public synchronized int size() {
+        return ids.size();
+    }
+}
@@ -3,11 +3,8 @@ package com.github.kuramastone.cobblemonChallenges.challenges;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeAPI;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Progression;
-import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Requirement;
 import com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
 
@@ -22,6 +19,7 @@ public class ChallengeList {
     private int visibleMissions;
     private String rotationInterval; // daily, weekly, monthly, disabled
     private long lastRotationTime;
+    private long lastCancelTime; // last time a rotation canceled every player's progress in this list
 
     public ChallengeList(CobbleChallengeAPI api, String name, List<Challenge> challengeMap, int maxChallengesPerPlayer, 
                          int visibleMissions, String rotationInterval) {
@@ -60,15 +58,19 @@ public class ChallengeList {
         }
     }
 
-    public static ChallengeList load(CobbleChallengeAPI api, String challengeListID, YamlConfig section) {
+    /**
+     * @param registered Challenges already loaded by other lists, by name. Challenges loaded here are added to it.
+     */
+    public static ChallengeList load(CobbleChallengeAPI api, String challengeListID, YamlConfig section, Map<String, Challenge> registered) {
         Objects.requireNonNull(section, "Cannot load data from a null section.");
 
         List<Challenge> challengeList = new ArrayList<>();
         for (String challengeID : section.getKeys("challenges", false)) {
             Challenge challenge = Challenge.load(challengeID, section.getSection("challenges." + challengeID));
             if(challenge == null) continue; // something went wrong, skip
-            boolean valid = api.registerChallenge(challenge);
+            boolean valid = registered.putIfAbsent(challenge.getName(), challenge) == null;
             if (valid) {
+                challenge.setId(api.getChallengeIds().idOf(challenge.getName()));
                 challengeList.add(challenge);
             }
             else {
@@ -111,13 +113,7 @@ public class ChallengeList {
      * @return
      */
     public ChallengeProgress buildNewProgressForQuest(Challenge challenge, PlayerProfile profile) {
-
-        List<Pair<String, Progression<?>>> progs = new ArrayList<>();
-        for (Requirement requirement : challenge.getRequirements()) {
-            progs.add(Pair.of(requirement.getName(), requirement.buildProgression(profile)));
-        }
-
-        return new ChallengeProgress(api, profile, this, challenge, progs, System.currentTimeMillis());
+        return new ChallengeProgress(api, profile, this, challenge, System.currentTimeMillis());
     }
 
     public Challenge getChallenge(String challengeName) {
@@ -142,6 +138,17 @@ public class ChallengeList {
         return lastRotationTime;
     }
 
+    /**
+     * @return The last time a rotation canceled all progress in this list, or 0 if it never has
+     */
+    public long getLastCancelTime() {
+        return lastCancelTime;
+    }
+
+    public void setLastCancelTime(long lastCancelTime) {
+        this.lastCancelTime = lastCancelTime;
+    }
+
     /**
      * Get time remaining until next rotation in milliseconds
      * Returns -1 if rotation is disabled
@@ -323,21 +330,17 @@ public class ChallengeList {
      */
     private void cancelAllActiveChallengesForThisList() {
         int canceledCount = 0;
+        // profiles that aren't loaded drop their progress from before this when they are next loaded
+        lastCancelTime = System.currentTimeMillis();
 
         for (PlayerProfile profile : api.getProfiles()) {
-            List<ChallengeProgress> toRemove = new ArrayList<>();
-
+            // the snapshot isn't affected by removing from the profile
             for (ChallengeProgress progress : profile.getActiveChallenges()) {
                 if (progress.getParentList().getName().equals(this.name)) {
-                    toRemove.add(progress);
+                    profile.removeActiveChallenge(progress);
+                    canceledCount++;
                 }
             }
-
-            // Remove all active challenges from this list for this player
-            for (ChallengeProgress progress : toRemove) {
-                profile.removeActiveChallenge(progress);
-                canceledCount++;
-            }
         }
 
         if (canceledCount > 0) {
@@ -451,6 +454,26 @@ public class ChallengeList {
         this.lastRotationTime = lastRotationTime;
     }
     
+    /**
+     * Carry over the rotation of the list this one replaces on reload, so a reload doesn't need it saved first
+     */
+    public void copyRotationFrom(ChallengeList previous) {
+        this.lastRotationTime = previous.lastRotationTime;
+        this.lastCancelTime = previous.lastCancelTime;
+
+        List<Challenge> carried = new ArrayList<>();
+        for (Challenge challenge : previous.visibleChallenges) {
+            Challenge replacement = getChallenge(challenge.getName());
+            if (replacement != null) {
+                carried.add(replacement);
+            }
+        }
+        // keep what the constructor chose if none of the visible challenges still exist
+        if (!carried.isEmpty()) {
+            visibleChallenges = carried;
+        }
+    }
+
     /**
      * Load visible challenges from saved data
      */
@@ -1,23 +1,17 @@
 package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
 import com.cobblemon.mod.common.api.events.pokemon.PokemonCapturedEvent;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.PixelmonUtils;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-public class CatchPokemonRequirement implements Requirement {
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.BallFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.LabelFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
+
+public class CatchPokemonRequirement implements CounterRequirement {
     public static final String ID = "Catch_Pokemon";
 
     @YamlKey("pokename")
@@ -42,11 +36,23 @@ public class CatchPokemonRequirement implements Requirement {
     @YamlKey("required-tags")
     private String requiredLabels = "any";
 
+    private NameFilter pokenameFilter;
+    private LabelFilter labelFilter;
+    private TypeFilter typeFilter;
+    private BallFilter ballFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
     public CatchPokemonRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        labelFilter = LabelFilter.compile(requiredLabels);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        ballFilter = BallFilter.compile(ball);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -56,131 +62,75 @@ public class CatchPokemonRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new CatchPokemonProgression(profile, this);
+    public Class<PokemonCapturedEvent> getType() {
+        return PokemonCapturedEvent.class;
     }
 
-    // Static nested Progression class
-    public static class CatchPokemonProgression implements Progression<PokemonCapturedEvent> {
-        private PlayerProfile profile;
-        public CatchPokemonRequirement requirement;
-        private int progressAmount;
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        public CatchPokemonProgression(PlayerProfile profile, CatchPokemonRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        PokemonCapturedEvent event = getType().cast(obj);
+        return meetsCriteria(event, context) ? 1 : 0;
+    }
 
-        @Override
-        public Class<PokemonCapturedEvent> getType() {
-            return PokemonCapturedEvent.class;
+    private boolean meetsCriteria(PokemonCapturedEvent event, EventContext context) {
+
+        Pokemon pokemon = event.getPokemon();
+        PokemonFacts facts = context.getFacts(pokemon);
+
+        // Debug logging for mythical/legendary/ultra beast detection
+        if (is_mythical || is_legendary || is_ultra_beast) {
+            CobbleChallengeMod.logger.info("Catch_Pokemon check - Pokemon: {}, isLegendary: {}, isMythical: {}, isUltraBeast: {}",
+                facts.getSpeciesName(), facts.isLegendary(), facts.isMythical(), facts.isUltraBeast());
+            CobbleChallengeMod.logger.info("Catch_Pokemon requirements - legendary: {}, mythical: {}, ultra_beast: {}",
+                is_legendary, is_mythical, is_ultra_beast);
         }
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
+        if (!pokenameFilter.matches(facts.getSpeciesName())) {
+            return false;
         }
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                }
-            }
+        if(!labelFilter.matches(facts.getLabels())) {
+            return false;
         }
 
-        @Override
-        public boolean meetsCriteria(PokemonCapturedEvent event) {
-
-            Pokemon pokemon = event.getPokemon();
-            String pokename = pokemon.getSpecies().getName();
-            boolean shiny = pokemon.getShiny();
-            List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).collect(Collectors.toUnmodifiableList());
-            String ballName = event.getPokeBallEntity().getPokeBall().getName().toString();
-            long time_of_day = event.getPlayer().level().getDayTime();
-            boolean is_legendary = pokemon.isLegendary();
-            boolean is_ultra_beast = pokemon.isUltraBeast();
-            boolean is_mythical = pokemon.isMythical();
-
-            // Debug logging for mythical/legendary/ultra beast detection
-            if (requirement.is_mythical || requirement.is_legendary || requirement.is_ultra_beast) {
-                CobbleChallengeMod.logger.info("Catch_Pokemon check - Pokemon: {}, isLegendary: {}, isMythical: {}, isUltraBeast: {}",
-                    pokename, is_legendary, is_mythical, is_ultra_beast);
-                CobbleChallengeMod.logger.info("Catch_Pokemon requirements - legendary: {}, mythical: {}, ultra_beast: {}",
-                    requirement.is_legendary, requirement.is_mythical, requirement.is_ultra_beast);
-            }
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                return false;
-            }
-
-            if(!StringUtils.doesListMeetRequiredList(requirement.requiredLabels.split("/"), pokemon.getForm().getLabels())) {
-                return false;
-            }
-
-            if (requirement.shiny && !shiny) {
-                return false;
-            }
-
-            if (!requirement.pokemon_type.toLowerCase().startsWith("any") &&
-                    types.stream().map(ElementalType::getName).noneMatch(requirement.pokemon_type::equalsIgnoreCase)) {
-                return false;
-            }
-
-            if (!requirement.ball.toLowerCase().startsWith("any") &&
-                    !ballName.toLowerCase().contains(requirement.ball.toLowerCase())) {
-                return false;
-            }
-
-            if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                    !PixelmonUtils.doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                return false;
-            }
-
-            if (requirement.is_legendary && !is_legendary) {
-                return false;
-            }
-
-            if (requirement.is_ultra_beast && !is_ultra_beast) {
-                return false;
-            }
-
-            if (requirement.is_mythical && !is_mythical) {
-                return false;
-            }
-
-            return true;
+        if (shiny && !facts.isShiny()) {
+            return false;
         }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
+        if (!typeFilter.matchesAny(facts.getTypeNames())) {
+            return false;
         }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+        if (!ballFilter.isAny() &&
+                !ballFilter.matches(event.getPokeBallEntity().getPokeBall().getName().toString())) {
+            return false;
         }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (!timeOfDayFilter.isAny() &&
+                !timeOfDayFilter.matches(context.getDayTime(event.getPlayer().level()))) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (is_legendary && !facts.isLegendary()) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                    CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                    "{current}", String.valueOf(this.progressAmount),
-                    "{target}", String.valueOf(this.requirement.amount)));
+        if (is_ultra_beast && !facts.isUltraBeast()) {
+            return false;
         }
+
+        if (is_mythical && !facts.isMythical()) {
+            return false;
+        }
+
+        return true;
     }
 }
\ No newline at end of file
@@ -2,15 +2,10 @@ package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
 import com.github.kuramastone.cobblemonChallenges.events.ChallengeCompletedEvent;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
-import java.util.UUID;
-
-public class CompleteChallengeRequirement implements Requirement {
+public class CompleteChallengeRequirement implements CounterRequirement {
 
     public static final String ID = "complete_challenge";
 
@@ -19,6 +14,8 @@ public class CompleteChallengeRequirement implements Requirement {
     @YamlKey("amount")
     private int amount = 1; // Number of challenges to complete
 
+    private NameFilter challengeListFilter;
+
     public CompleteChallengeRequirement() {
     }
 
@@ -29,86 +26,36 @@ public class CompleteChallengeRequirement implements Requirement {
 
     @Override
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        challengeListFilter = NameFilter.compile(challengeList);
+        return this;
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        CompleteChallengeProgression ccp = new CompleteChallengeProgression(profile, this);
-        return ccp;
+    public Class<ChallengeCompletedEvent> getType() {
+        return ChallengeCompletedEvent.class;
     }
 
-    // Progression class to track progress
-    public static class CompleteChallengeProgression implements Progression<ChallengeCompletedEvent> {
-
-        private PlayerProfile profile;
-        private CompleteChallengeRequirement requirement;
-        private int progressAmount;
-
-        public CompleteChallengeProgression(PlayerProfile profile, CompleteChallengeRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public Class<ChallengeCompletedEvent> getType() {
-            return ChallengeCompletedEvent.class;
-        }
-
-        @Override
-        public boolean meetsCriteria(ChallengeCompletedEvent event) {
-
-            if(!StringUtils.doesStringContainCategory(requirement.challengeList.split("/"), event.getChallengeList().getName())) {
-                return false;
-            }
-
-            return true;
-        }
-
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
-
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                    progressAmount = Math.min(progressAmount, this.requirement.amount);
-                }
-            }
-        }
-
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        ChallengeCompletedEvent event = getType().cast(obj);
+        return meetsCriteria(event) ? 1 : 0;
+    }
 
+    private boolean meetsCriteria(ChallengeCompletedEvent event) {
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if(!challengeListFilter.matches(event.getChallengeList().getName())) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
-        }
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import net.kyori.adventure.text.Component;
+
+import java.util.UUID;
+
+/**
+ * A standalone count for a {@link CounterRequirement}, stored the same way as counts held by challenge progress
+ */
+public class CounterProgression implements Progression<Object> {
+
+    private final CounterRequirement requirement;
+    private int progressAmount;
+
+    public CounterProgression(CounterRequirement requirement, int progressAmount) {
+        this.requirement = requirement;
+        this.progressAmount = progressAmount;
+    }
+
+    /**
+     * @return The count after adding to it, capped at the requirement's amount
+     */
+    public static int add(CounterRequirement requirement, int current, int added) {
+        return (int) Math.min((long) current + added, requirement.getAmount());
+    }
+
+    public static Component getProgressComponent(CounterRequirement requirement, int current) {
+        return CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
+                "{current}", String.valueOf(current),
+                "{target}", String.valueOf(requirement.getAmount()));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Class<Object> getType() {
+        return (Class<Object>) requirement.getType();
+    }
+
+    @Override
+    public boolean isCompleted() {
+        return progressAmount >= requirement.getAmount();
+    }
+
+    @Override
+    public void progress(Object obj) {
+        progress(obj, new EventContext());
+    }
+
+    @Override
+    public void progress(Object obj, EventContext context) {
+        int added = requirement.countOf(obj, context);
+        if (added > 0) {
+            progressAmount = add(requirement, progressAmount, added);
+        }
+    }
+
+    @Override
+    public boolean matchesMethod(Object obj) {
+        return requirement.getType().isInstance(obj);
+    }
+
+    @Override
+    public boolean meetsCriteria(Object obj) {
+        return requirement.countOf(obj, new EventContext()) > 0;
+    }
+
+    @Override
+    public double getPercentageComplete() {
+        return (double) progressAmount / requirement.getAmount();
+    }
+
+    @Override
+    public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
+        this.progressAmount = configurationSection.getInt("progressAmount");
+        return this;
+    }
+
+    @Override
+    public void writeTo(YamlConfig configurationSection) {
+        configurationSection.set("progressAmount", progressAmount);
+    }
+
+    @Override
+    public Component getProgressComponent() {
+        return getProgressComponent(requirement, progressAmount);
+    }
+
+    public CounterRequirement getRequirement() {
+        return requirement;
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
+
+import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+
+/**
+ * A requirement whose progress is a single count towards {@link #getAmount()}. The requirement holds no per-player
+ * state: each challenge progress stores the counts of its counter requirements in one int array, and the requirement
+ * only decides how much an event adds.
+ */
+public interface CounterRequirement extends Requirement {
+
+    Class<?> getType();
+
+    int getAmount();
+
+    /**
+     * @return How much this event adds to the count, or 0 if it doesn't meet this requirement's criteria
+     */
+    int countOf(Object event, EventContext context);
+
+    /**
+     * @return The count a new progress starts at
+     */
+    default int getInitialCount(PlayerProfile profile) {
+        return 0;
+    }
+
+    /**
+     * Challenge progress stores counts itself, so this is only needed for a progression detached from any challenge
+     */
+    @Override
+    default Progression<?> buildProgression(PlayerProfile profile) {
+        return new CounterProgression(this, profile == null ? 0 : getInitialCount(profile));
+    }
+}
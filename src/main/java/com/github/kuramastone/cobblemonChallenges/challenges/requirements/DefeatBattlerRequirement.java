@@ -4,24 +4,22 @@ import com.cobblemon.mod.common.api.battles.model.actor.AIBattleActor;
 import com.cobblemon.mod.common.api.battles.model.actor.BattleActor;
 import com.cobblemon.mod.common.api.battles.model.actor.EntityBackedBattleActor;
 import com.cobblemon.mod.common.api.events.battles.BattleVictoryEvent;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.battles.pokemon.BattlePokemon;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.LabelFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
 import net.minecraft.world.entity.player.Player;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
-public class DefeatBattlerRequirement implements Requirement {
+public class DefeatBattlerRequirement implements CounterRequirement {
     public static final String ID = "Defeat_Battler";
 
     @YamlKey("pokename")
@@ -50,11 +48,23 @@ public class DefeatBattlerRequirement implements Requirement {
     @YamlKey("required-tags")
     private String requiredLabels = "any";
 
+    private NameFilter pokenameFilter;
+    private NameFilter enemyTypeFilter;
+    private LabelFilter labelFilter;
+    private TypeFilter typeFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
     public DefeatBattlerRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        enemyTypeFilter = NameFilter.compile(enemyType);
+        labelFilter = LabelFilter.compile(requiredLabels);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -64,198 +74,115 @@ public class DefeatBattlerRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new DefeatPokemonProgression(profile, this);
+    public Class<BattleVictoryEvent> getType() {
+        return BattleVictoryEvent.class;
     }
 
-    // Static nested Progression class
-    public static class DefeatPokemonProgression implements Progression<BattleVictoryEvent> {
-
-        private PlayerProfile profile;
-        public DefeatBattlerRequirement requirement;
-        private int progressAmount;
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        public DefeatPokemonProgression(PlayerProfile profile, DefeatBattlerRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        BattleVictoryEvent event = getType().cast(obj);
+        return meetsCriteria(event, context) ? 1 : 0;
+    }
 
-        @Override
-        public Class<BattleVictoryEvent> getType() {
-            return BattleVictoryEvent.class;
-        }
+    private boolean meetsCriteria(BattleVictoryEvent event, EventContext context) {
+        PlayerProfile profile = context.getProfile();
+        BattleActor player = profile == null ? null : event.getBattle().getActor(profile.getUUID());
+
+        // make sure battle uses this player
+        if(player == null)
+            return false;
+
+        if(event.getWasWildCapture())
+            return false;
 
+        // return if the player didnt win
+        if(!event.getWinners().contains(player))
+            return false;
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
+        // check npc/player/gymleader/wild
+        List<String> enemyTypes = new ArrayList<>();
+        List<BattlePokemon> enemyPokemon = new ArrayList<>();
+        for (BattleActor participant : event.getLosers()) {
+            enemyPokemon.addAll(participant.getPokemonList());
+            if (participant instanceof EntityBackedBattleActor<?> entityBackedBattleActor) {
+                if (entityBackedBattleActor.getEntity() instanceof Player)
+                    enemyTypes.add("player");
+                else
+                    enemyTypes.add("wild");
+            }
+            else if (participant instanceof AIBattleActor aiBattleActor) {
+                enemyTypes.add("npc");
+            }
+            else {
+                enemyTypes.add("wild");
+            }
         }
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
+        // check if any of the enemy types match the requirement
+        // If requirement is "any", always pass
+        if (!enemyTypeFilter.isAny()) {
+            boolean matchesEnemyType = false;
+            for (String enemyType : enemyTypes) {
+                if (enemyTypeFilter.matches(enemyType)) {
+                    matchesEnemyType = true;
+                    break;
                 }
             }
+            if (!matchesEnemyType) {
+                return false;
+            }
         }
 
-        @Override
-        public boolean meetsCriteria(BattleVictoryEvent event) {
-            BattleActor player = event.getBattle().getActor(profile.getUUID());
-
-            // make sure battle uses this player
-            if(player == null)
-                return false;
+        for (BattlePokemon battlePokemon : enemyPokemon) {
+            Pokemon pokemon = battlePokemon.getOriginalPokemon();
+            PokemonFacts facts = context.getFacts(pokemon);
 
-            if(event.getWasWildCapture())
-                return false;
+            if (!pokenameFilter.matches(facts.getSpeciesName())) {
+                continue;
+            }
 
-            // return if the player didnt win
-            if(!event.getWinners().contains(player))
+            if(!labelFilter.matches(facts.getLabels())) {
                 return false;
-
-            // check npc/player/gymleader/wild
-            List<String> enemyTypes = new ArrayList<>();
-            List<BattlePokemon> enemyPokemon = new ArrayList<>();
-            for (BattleActor participant : event.getLosers()) {
-                enemyPokemon.addAll(participant.getPokemonList());
-                if (participant instanceof EntityBackedBattleActor<?> entityBackedBattleActor) {
-                    if (entityBackedBattleActor.getEntity() instanceof Player)
-                        enemyTypes.add("player");
-                    else
-                        enemyTypes.add("wild");
-                }
-                else if (participant instanceof AIBattleActor aiBattleActor) {
-                    enemyTypes.add("npc");
-                }
-                else {
-                    enemyTypes.add("wild");
-                }
             }
 
-            // check if any of the enemy types match the requirement
-            // If requirement is "any", always pass
-            if (!requirement.enemyType.equalsIgnoreCase("any")) {
-                String[] acceptedTypes = requirement.enemyType.split("/");
-                boolean matchesEnemyType = false;
-                for (String enemyType : enemyTypes) {
-                    for (String acceptedType : acceptedTypes) {
-                        if (acceptedType.equalsIgnoreCase(enemyType)) {
-                            matchesEnemyType = true;
-                            break;
-                        }
-                    }
-                    if (matchesEnemyType) break;
-                }
-                if (!matchesEnemyType) {
-                    return false;
-                }
+            if (shiny && !facts.isShiny()) {
+                continue;
             }
 
-            for (BattlePokemon battlePokemon : enemyPokemon) {
-                Pokemon pokemon = battlePokemon.getOriginalPokemon();
-                String pokename = pokemon.getSpecies().getName();
-                boolean shiny = pokemon.getShiny();
-                List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).collect(Collectors.toUnmodifiableList());
-                long time_of_day = CobbleChallengeMod.getMinecraftServer().getPlayerList().getPlayer(player.getUuid()).level().getDayTime();
-                boolean is_legendary = pokemon.isLegendary();
-                boolean is_ultra_beast = pokemon.isUltraBeast();
-                boolean is_mythical = pokemon.isMythical();
-
-                if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                    continue;
-                }
-
-                if(!StringUtils.doesListMeetRequiredList(requirement.requiredLabels.split("/"), pokemon.getForm().getLabels())) {
-                    return false;
-                }
-
-                if (requirement.shiny && !shiny) {
-                    continue;
-                }
-
-                if (types.stream().noneMatch(it -> StringUtils.doesStringContainCategory(requirement.pokemon_type.split("/"), it.getName()))) {
-                    continue;
-                }
-
-
-                if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                        !doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                    continue;
-                }
-
-                if (requirement.is_legendary && !is_legendary) {
-                    continue;
-                }
-
-                if (requirement.is_ultra_beast && !is_ultra_beast) {
-                    continue;
-                }
-
-                if (requirement.is_mythical && !is_mythical) {
-                    continue;
-                }
-
-                return true;
+            if (!typeFilter.matchesAny(facts.getTypeNames())) {
+                continue;
             }
 
 
-            return false;
-        }
-
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+            if (!timeOfDayFilter.isAny() &&
+                    !timeOfDayFilter.matches(context.getDayTime(CobbleChallengeMod.getMinecraftServer().getPlayerList().getPlayer(player.getUuid()).level()))) {
+                continue;
+            }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
-        }
+            if (is_legendary && !facts.isLegendary()) {
+                continue;
+            }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
-        }
+            if (is_ultra_beast && !facts.isUltraBeast()) {
+                continue;
+            }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
-        }
+            if (is_mythical && !facts.isMythical()) {
+                continue;
+            }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
+            return true;
         }
-    }
 
-    private static boolean doesDaytimeMatch(long time, String phrase) {
-        long normalizedTime = time % 24000;
-
-        // Convert the phrase to lowercase to handle case-insensitive comparison
-        phrase = phrase.toLowerCase();
-
-        switch (phrase) {
-            case "any":
-                return true;  // If 'any', always return true
-            case "dawn":
-                return normalizedTime >= 0 && normalizedTime < 1000;
-            case "day":
-                return normalizedTime >= 1000 && normalizedTime < 12000;
-            case "dusk":
-                return normalizedTime >= 12000 && normalizedTime < 13000;
-            case "night":
-                return normalizedTime >= 13000 && normalizedTime < 24000;
-            default:
-                // If the phrase doesn't match any expected value, return true anyways to be safe.
-                return true;
-        }
 
+        return false;
     }
 }
\ No newline at end of file
@@ -1,22 +1,16 @@
 package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.PixelmonUtils;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.BallFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
 // import dev.neovitalism.neodaycare.utils.DaycareUtils; // Commented out to avoid dependency issues
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.minecraft.world.item.ItemStack;
 
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.StreamSupport;
-
-public class DrawPokemonRequirement implements Requirement {
+public class DrawPokemonRequirement implements CounterRequirement {
     public static final String ID = "draw_pokemon";
 
     public record DrawEventData(ItemStack itemStack, Pokemon pokemon) {}
@@ -43,12 +37,22 @@ public class DrawPokemonRequirement implements Requirement {
     @YamlKey("is_egg")
     private boolean is_egg = false;
 
+    private NameFilter pokenameFilter;
+    private TypeFilter typeFilter;
+    private BallFilter ballFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
 
     public DrawPokemonRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        ballFilter = BallFilter.compile(ball);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -58,125 +62,68 @@ public class DrawPokemonRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new DrawPokemonProgression(profile, this);
+    public Class<DrawEventData> getType() {
+        return DrawEventData.class;
     }
 
-    // Static nested Progression class
-    public static class DrawPokemonProgression implements Progression<DrawEventData> {
-        private PlayerProfile profile;
-        private DrawPokemonRequirement requirement;
-        private int progressAmount;
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        public DrawPokemonProgression(PlayerProfile profile, DrawPokemonRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        DrawEventData event = getType().cast(obj);
+        return meetsCriteria(event, context) ? 1 : 0;
+    }
 
-        @Override
-        public Class<DrawEventData> getType() {
-            return DrawEventData.class;
-        }
+    private boolean meetsCriteria(DrawEventData event, EventContext context) {
+        Pokemon pokemon = event.pokemon();
+        PokemonFacts facts = context.getFacts(pokemon);
+
+        // boolean is_egg = DaycareUtils.isEgg(pokemon); // NeoDaycare integration disabled
+        boolean is_egg = false; // Default to false when NeoDaycare is not available
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
+        if (!pokenameFilter.matches(facts.getSpeciesName())) {
+            return false;
         }
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                }
-            }
+        if (shiny && !facts.isShiny()) {
+            return false;
         }
 
-        @Override
-        public boolean meetsCriteria(DrawEventData event) {
-            Pokemon pokemon = event.pokemon();
-            String pokename = pokemon.getSpecies().getName();
-            boolean shiny = pokemon.getShiny();
-            List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).toList();
-            String ballName = pokemon.getCaughtBall().getName().toString();
-            long time_of_day = event.pokemon.getOwnerPlayer().level().getDayTime();
-            boolean is_legendary = pokemon.isLegendary();
-            boolean is_ultra_beast = pokemon.isUltraBeast();
-            boolean is_mythical = pokemon.isMythical();
-
-            // boolean is_egg = DaycareUtils.isEgg(pokemon); // NeoDaycare integration disabled
-            boolean is_egg = false; // Default to false when NeoDaycare is not available
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                return false;
-            }
-
-            if (requirement.shiny && !shiny) {
-                return false;
-            }
-
-            if (!requirement.pokemon_type.toLowerCase().startsWith("any") &&
-                    types.stream().map(ElementalType::getName).noneMatch(requirement.pokemon_type::equalsIgnoreCase)) {
-                return false;
-            }
-
-            if (!requirement.ball.toLowerCase().startsWith("any") &&
-                    !ballName.toLowerCase().contains(requirement.ball.toLowerCase())) {
-                return false;
-            }
-
-            if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                    !PixelmonUtils.doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                return false;
-            }
-
-            if (requirement.is_legendary && !is_legendary) {
-                return false;
-            }
-
-            if (requirement.is_ultra_beast && !is_ultra_beast) {
-                return false;
-            }
-
-            if (requirement.is_egg && !is_egg) {
-                return false;
-            }
-
-            if (requirement.is_mythical && !is_mythical) {
-                return false;
-            }
-
-            return true;
+        if (!typeFilter.matchesAny(facts.getTypeNames())) {
+            return false;
         }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
+        if (!ballFilter.matches(facts.getCaughtBallName())) {
+            return false;
         }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+        if (!timeOfDayFilter.isAny() &&
+                !timeOfDayFilter.matches(context.getDayTime(event.pokemon.getOwnerPlayer().level()))) {
+            return false;
         }
 
+        if (is_legendary && !facts.isLegendary()) {
+            return false;
+        }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (is_ultra_beast && !facts.isUltraBeast()) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (is_egg && !is_egg) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                    "{current}", String.valueOf(this.progressAmount),
-                    "{target}", String.valueOf(this.requirement.amount)));
+        if (is_mythical && !facts.isMythical()) {
+            return false;
         }
+
+        return true;
     }
 }
\ No newline at end of file
@@ -1,22 +1,16 @@
 package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
 import com.cobblemon.mod.common.api.events.pokemon.ExperienceGainedEvent;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.PixelmonUtils;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-public class EXPGainedRequirement implements Requirement {
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.BallFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.LabelFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
+
+public class EXPGainedRequirement implements CounterRequirement {
     public static final String ID = "exp_gained";
 
     @YamlKey("pokename")
@@ -41,11 +35,23 @@ public class EXPGainedRequirement implements Requirement {
     @YamlKey("required-tags")
     private String requiredLabels = "any";
 
+    private NameFilter pokenameFilter;
+    private LabelFilter labelFilter;
+    private TypeFilter typeFilter;
+    private BallFilter ballFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
     public EXPGainedRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        labelFilter = LabelFilter.compile(requiredLabels);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        ballFilter = BallFilter.compile(ball);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -55,124 +61,66 @@ public class EXPGainedRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new ExpGainedProgression(profile, this);
+    public Class<ExperienceGainedEvent.Post> getType() {
+        return ExperienceGainedEvent.Post.class;
     }
 
-    // Static nested Progression class
-    public static class ExpGainedProgression implements Progression<ExperienceGainedEvent.Post> {
-
-        private EXPGainedRequirement requirement;
-        private int progressAmount;
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        public ExpGainedProgression(PlayerProfile profile, EXPGainedRequirement requirement) {
-            this.requirement = requirement;
-            this.progressAmount = 0;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        ExperienceGainedEvent.Post event = getType().cast(obj);
+        return meetsCriteria(event, context) ? event.getExperience() : 0;
+    }
 
-        @Override
-        public Class<ExperienceGainedEvent.Post> getType() {
-            return ExperienceGainedEvent.Post.class;
-        }
+    private boolean meetsCriteria(ExperienceGainedEvent.Post event, EventContext context) {
+
+        Pokemon pokemon = event.getPokemon();
+        PokemonFacts facts = context.getFacts(pokemon);
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
+        if (!pokenameFilter.matches(facts.getSpeciesName())) {
+            return false;
         }
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    ExperienceGainedEvent.Post event = getType().cast(obj);
-                    progressAmount += event.getExperience();
-                }
-            }
+        if(!labelFilter.matches(facts.getLabels())) {
+            return false;
         }
 
-        @Override
-        public boolean meetsCriteria(ExperienceGainedEvent.Post event) {
-
-            Pokemon pokemon = event.getPokemon();
-            String pokename = pokemon.getSpecies().getName();
-            boolean shiny = pokemon.getShiny();
-            List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).collect(Collectors.toUnmodifiableList());
-            String ballName = event.getPokemon().getCaughtBall().getName().toString();
-            long time_of_day = event.getPokemon().getOwnerEntity().level().getDayTime();
-            boolean is_legendary = pokemon.isLegendary();
-            boolean is_ultra_beast = pokemon.isUltraBeast();
-            boolean is_mythical = pokemon.isMythical();
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                return false;
-            }
-
-            if(!StringUtils.doesListMeetRequiredList(requirement.requiredLabels.split("/"), pokemon.getForm().getLabels())) {
-                return false;
-            }
-
-            if (requirement.shiny && !shiny) {
-                return false;
-            }
-
-            if (!requirement.pokemon_type.toLowerCase().startsWith("any") &&
-                    types.stream().map(ElementalType::getName).noneMatch(requirement.pokemon_type::equalsIgnoreCase)) {
-                return false;
-            }
-
-            if (!requirement.ball.toLowerCase().startsWith("any") &&
-                    !ballName.toLowerCase().contains(requirement.ball.toLowerCase())) {
-                return false;
-            }
-
-            if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                    !PixelmonUtils.doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                return false;
-            }
-
-            if (requirement.is_legendary && !is_legendary) {
-                return false;
-            }
-
-            if (requirement.is_ultra_beast && !is_ultra_beast) {
-                return false;
-            }
-
-            if (requirement.is_mythical && !is_mythical) {
-                return false;
-            }
-
-            return true;
+        if (shiny && !facts.isShiny()) {
+            return false;
         }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
+        if (!typeFilter.matchesAny(facts.getTypeNames())) {
+            return false;
         }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+        if (!ballFilter.matches(facts.getCaughtBallName())) {
+            return false;
         }
 
+        if (!timeOfDayFilter.isAny() &&
+                !timeOfDayFilter.matches(context.getDayTime(event.getPokemon().getOwnerEntity().level()))) {
+            return false;
+        }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (is_legendary && !facts.isLegendary()) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (is_ultra_beast && !facts.isUltraBeast()) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
+        if (is_mythical && !facts.isMythical()) {
+            return false;
         }
+
+        return true;
     }
 }
\ No newline at end of file
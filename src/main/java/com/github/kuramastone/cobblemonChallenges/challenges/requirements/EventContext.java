@@ -0,0 +1,64 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
+
+import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+import net.minecraft.world.level.Level;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Facts gathered while a single event is handed to a player's progressions. Each fact is computed the first time a
+ * progression asks for it and reused by every other progression receiving the same event.
+ */
+public class EventContext {
+
+    private final PlayerProfile profile; // the player receiving the event, if known
+
+    // most events only carry one pokemon, so avoid the map until a second one shows up
+    private PokemonFacts firstFacts;
+    private Map<Pokemon, PokemonFacts> otherFacts;
+
+    private boolean dayTimeLoaded;
+    private long dayTime;
+
+    public EventContext() {
+        this(null);
+    }
+
+    public EventContext(PlayerProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * @return The player whose progressions are receiving this event, or null if it isn't being handed to a player
+     */
+    public PlayerProfile getProfile() {
+        return profile;
+    }
+
+    public PokemonFacts getFacts(Pokemon pokemon) {
+        if (firstFacts == null) {
+            firstFacts = new PokemonFacts(pokemon);
+            return firstFacts;
+        }
+        if (firstFacts.getPokemon() == pokemon) {
+            return firstFacts;
+        }
+        if (otherFacts == null) {
+            otherFacts = new IdentityHashMap<>();
+        }
+        return otherFacts.computeIfAbsent(pokemon, PokemonFacts::new);
+    }
+
+    /**
+     * @param level The level the event happened in, read if no progression has looked up the day time yet
+     */
+    public long getDayTime(Level level) {
+        if (!dayTimeLoaded) {
+            dayTime = level.getDayTime();
+            dayTimeLoaded = true;
+        }
+        return dayTime;
+    }
+}
@@ -1,23 +1,16 @@
 package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
 import com.cobblemon.mod.common.api.events.pokemon.evolution.EvolutionCompleteEvent;
-import com.cobblemon.mod.common.api.types.ElementalType;
 import com.cobblemon.mod.common.pokeball.PokeBall;
 import com.cobblemon.mod.common.pokemon.Pokemon;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
-
-public class EvolvePokemonRequirement implements Requirement {
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.LabelFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TimeOfDayFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.TypeFilter;
+
+public class EvolvePokemonRequirement implements CounterRequirement {
     public static final String ID = "Evolve_Pokemon";
 
     @YamlKey("pokename")
@@ -42,11 +35,21 @@ public class EvolvePokemonRequirement implements Requirement {
     @YamlKey("required-tags")
     private String requiredLabels = "any";
 
+    private NameFilter pokenameFilter;
+    private LabelFilter labelFilter;
+    private TypeFilter typeFilter;
+    private TimeOfDayFilter timeOfDayFilter;
+
     public EvolvePokemonRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        labelFilter = LabelFilter.compile(requiredLabels);
+        typeFilter = TypeFilter.compile(pokemon_type);
+        timeOfDayFilter = TimeOfDayFilter.compile(time_of_day);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -56,141 +59,62 @@ public class EvolvePokemonRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new EvolvePokemonProgression(profile, this);
+    public Class<EvolutionCompleteEvent> getType() {
+        return EvolutionCompleteEvent.class;
     }
 
-    // Static nested Progression class
-    public static class EvolvePokemonProgression implements Progression<EvolutionCompleteEvent> {
-
-        private PlayerProfile profile;
-        public EvolvePokemonRequirement requirement;
-        private int progressAmount;
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        public EvolvePokemonProgression(PlayerProfile profile, EvolvePokemonRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        EvolutionCompleteEvent event = getType().cast(obj);
+        return meetsCriteria(event, context) ? 1 : 0;
+    }
 
-        @Override
-        public Class<EvolutionCompleteEvent> getType() {
-            return EvolutionCompleteEvent.class;
-        }
+    private boolean meetsCriteria(EvolutionCompleteEvent event, EventContext context) {
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
+        Pokemon pokemon = event.getPokemon();
+        PokemonFacts facts = context.getFacts(pokemon);
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
+        if (!pokenameFilter.matches(facts.getSpeciesName())) {
+            return false;
         }
 
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria((EvolutionCompleteEvent) obj)) {
-                    progressAmount++;
-                }
-            }
+        if(!labelFilter.matches(facts.getLabels())) {
+            return false;
         }
 
-        @Override
-        public boolean meetsCriteria(EvolutionCompleteEvent event) {
-
-            Pokemon pokemon = event.getPokemon();
-            String pokename = pokemon.getSpecies().getName();
-            boolean shiny = pokemon.getShiny();
-            List<ElementalType> types = StreamSupport.stream(pokemon.getTypes().spliterator(), false).collect(Collectors.toUnmodifiableList());
-            long time_of_day = event.getPokemon().getOwnerEntity().level().getDayTime();
-            boolean is_legendary = pokemon.isLegendary();
-            boolean is_ultra_beast = pokemon.isUltraBeast();
-            boolean is_mythical = pokemon.isMythical();
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokename)) {
-                return false;
-            }
-
-            if(!StringUtils.doesListMeetRequiredList(requirement.requiredLabels.split("/"), pokemon.getForm().getLabels())) {
-                return false;
-            }
-
-            if (requirement.shiny && !shiny) {
-                return false;
-            }
-
-            if (types.stream().noneMatch(it -> StringUtils.doesStringContainCategory(requirement.pokemon_type.split("/"), it.getName()))) {
-                return false;
-            }
-
-            if (!requirement.time_of_day.toLowerCase().startsWith("any") &&
-                    !doesDaytimeMatch(time_of_day, requirement.time_of_day)) {
-                return false;
-            }
-
-            if (requirement.is_legendary && !is_legendary) {
-                return false;
-            }
-
-            if (requirement.is_ultra_beast && !is_ultra_beast) {
-                return false;
-            }
-
-            if (requirement.is_mythical && !is_mythical) {
-                return false;
-            }
-
-            return true;
+        if (shiny && !facts.isShiny()) {
+            return false;
         }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
+        if (!typeFilter.matchesAny(facts.getTypeNames())) {
+            return false;
         }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+        if (!timeOfDayFilter.isAny() &&
+                !timeOfDayFilter.matches(context.getDayTime(event.getPokemon().getOwnerEntity().level()))) {
+            return false;
         }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (is_legendary && !facts.isLegendary()) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (is_ultra_beast && !facts.isUltraBeast()) {
+            return false;
         }
-    }
 
-    private static boolean doesDaytimeMatch(long time, String phrase) {
-        long normalizedTime = time % 24000;
-
-        // Convert the phrase to lowercase to handle case-insensitive comparison
-        phrase = phrase.toLowerCase();
-
-        switch (phrase) {
-            case "any":
-                return true;  // If 'any', always return true
-            case "dawn":
-                return normalizedTime >= 0 && normalizedTime < 1000;
-            case "day":
-                return normalizedTime >= 1000 && normalizedTime < 12000;
-            case "dusk":
-                return normalizedTime >= 12000 && normalizedTime < 13000;
-            case "night":
-                return normalizedTime >= 13000 && normalizedTime < 24000;
-            default:
-                // If the phrase doesn't match any expected value, return true anyways to be safe.
-                return true;
+        if (is_mythical && !facts.isMythical()) {
+            return false;
         }
 
+        return true;
     }
 }
\ No newline at end of file
@@ -4,14 +4,9 @@ import com.cobblemon.mod.common.api.apricorn.Apricorn;
 import com.cobblemon.mod.common.api.events.farming.ApricornHarvestEvent;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
 
-import java.util.UUID;
-
-public class HarvestApricornRequirement implements Requirement {
+public class HarvestApricornRequirement implements CounterRequirement {
     public static final String ID = "Harvest_Apricorn";
 
     @YamlKey("type")
@@ -19,11 +14,15 @@ public class HarvestApricornRequirement implements Requirement {
     @YamlKey("amount")
     private int amount = 1;
 
+    private NameFilter apricornTypeFilter;
+
     public HarvestApricornRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        apricornTypeFilter = NameFilter.compile(apricornType);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -33,81 +32,32 @@ public class HarvestApricornRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new HarvestApricornProgression(profile, this);
+    public Class<ApricornHarvestEvent> getType() {
+        return ApricornHarvestEvent.class;
     }
 
-    // Static nested Progression class
-    public static class HarvestApricornProgression implements Progression<ApricornHarvestEvent> {
-
-        private PlayerProfile profile;
-        private HarvestApricornRequirement requirement;
-        private int progressAmount;
-
-        public HarvestApricornProgression(PlayerProfile profile, HarvestApricornRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public Class<ApricornHarvestEvent> getType() {
-            return ApricornHarvestEvent.class;
-        }
-
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
-
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                }
-            }
-        }
-
-        @Override
-        public boolean meetsCriteria(ApricornHarvestEvent event) {
-
-            Apricorn type = event.getApricorn();
-
-            if(!StringUtils.doesStringContainCategory(requirement.apricornType.split("/"), type.toString())) {
-                return false;
-            }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-            return true;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        ApricornHarvestEvent event = getType().cast(obj);
+        return meetsCriteria(event) ? 1 : 0;
+    }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    private boolean meetsCriteria(ApricornHarvestEvent event) {
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
-        }
+        Apricorn type = event.getApricorn();
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if(!apricornTypeFilter.matches(type.toString())) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
-        }
+        return true;
     }
 }
\ No newline at end of file
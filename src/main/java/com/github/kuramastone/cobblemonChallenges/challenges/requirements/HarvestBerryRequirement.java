@@ -3,15 +3,10 @@ package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 import com.cobblemon.mod.common.api.events.berry.BerryHarvestEvent;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
 import net.minecraft.world.item.ItemStack;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
-import java.util.UUID;
-
-public class HarvestBerryRequirement implements Requirement {
+public class HarvestBerryRequirement implements CounterRequirement {
     public static final String ID = "Harvest_Berry";
 
     @YamlKey("type")
@@ -19,11 +14,15 @@ public class HarvestBerryRequirement implements Requirement {
     @YamlKey("amount")
     private int amount = 1;
 
+    private NameFilter berryTypeFilter;
+
     public HarvestBerryRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        berryTypeFilter = NameFilter.compile(berryType);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -33,84 +32,40 @@ public class HarvestBerryRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new HarvestBerryProgression(profile, this);
+    public Class<BerryHarvestEvent> getType() {
+        return BerryHarvestEvent.class;
     }
 
-    // Static nested Progression class
-    public static class HarvestBerryProgression implements Progression<BerryHarvestEvent> {
-
-        private PlayerProfile profile;
-        private HarvestBerryRequirement requirement;
-        private int progressAmount;
-
-        public HarvestBerryProgression(PlayerProfile profile, HarvestBerryRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
-
-        @Override
-        public Class<BerryHarvestEvent> getType() {
-            return BerryHarvestEvent.class;
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    for (ItemStack drop : getType().cast(obj).getDrops()) {
-                        progressAmount += drop.getCount();
-                    }
-                    progressAmount = Math.min(progressAmount, this.requirement.amount);
-                }
-            }
+        BerryHarvestEvent event = getType().cast(obj);
+        if (!meetsCriteria(event)) {
+            return 0;
         }
 
-        @Override
-        public boolean meetsCriteria(BerryHarvestEvent event) {
-
-            String itemName = event.getBerry().item().berry().getIdentifier().toString();
-
-            if (!StringUtils.doesStringContainCategory(requirement.berryType.split("/"), itemName)) {
-                return false;
-            }
-
-            return true;
+        int count = 0;
+        for (ItemStack drop : event.getDrops()) {
+            count += drop.getCount();
         }
+        return count;
+    }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    private boolean meetsCriteria(BerryHarvestEvent event) {
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
-        }
+        String itemName = event.getBerry().item().berry().getIdentifier().toString();
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (!berryTypeFilter.matches(itemName)) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
-        }
+        return true;
     }
 }
\ No newline at end of file
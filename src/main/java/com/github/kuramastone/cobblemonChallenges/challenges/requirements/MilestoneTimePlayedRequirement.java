@@ -5,6 +5,7 @@ import com.github.kuramastone.bUtilities.yaml.YamlKey;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
 import com.github.kuramastone.cobblemonChallenges.events.Played1SecondEvent;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import java.util.UUID;
@@ -39,12 +40,48 @@ public class MilestoneTimePlayedRequirement implements Requirement {
 
         private PlayerProfile profile;
         private MilestoneTimePlayedRequirement requirement;
-        private int progressAmount;
+        private int progressAmount; // seconds already settled
+        private long lastSettled; // playtime before this time has been settled into progressAmount
 
         public MilestoneTimePlayedProgression(PlayerProfile profile, MilestoneTimePlayedRequirement requirement) {
             this.profile = profile;
             this.requirement = requirement;
             this.progressAmount = 0;
+            this.lastSettled = System.currentTimeMillis();
+        }
+
+        /**
+         * @return Time played in the current session that has not been settled yet
+         */
+        private long getUnsettledMillis() {
+            long sessionStart = profile.getSessionStart();
+            if (sessionStart < 0) {
+                return 0;
+            }
+            return Math.max(0, System.currentTimeMillis() - Math.max(lastSettled, sessionStart));
+        }
+
+        public int getPlayedSeconds() {
+            return (int) Math.min(requirement.totalTime, progressAmount + getUnsettledMillis() / 1000);
+        }
+
+        /**
+         * @return Milliseconds of online time left until this requirement is met
+         */
+        public long getRemainingMillis() {
+            return Math.max(0, (requirement.totalTime - progressAmount) * 1000L - getUnsettledMillis());
+        }
+
+        private void settle() {
+            long sessionStart = profile.getSessionStart();
+            if (sessionStart < 0) {
+                return;
+            }
+
+            long from = Math.max(lastSettled, sessionStart);
+            long seconds = Math.max(0, (System.currentTimeMillis() - from) / 1000);
+            progressAmount = (int) Math.min(requirement.totalTime, progressAmount + seconds);
+            lastSettled = from + seconds * 1000; // keep the leftover partial second for the next settle
         }
 
         @Override
@@ -54,7 +91,7 @@ public class MilestoneTimePlayedRequirement implements Requirement {
 
         @Override
         public boolean meetsCriteria(Played1SecondEvent event) {
-            // Each event fired counts for 30 seconds of playtime
+            // each event settles the time played since the last one
             return true;
         }
 
@@ -67,8 +104,7 @@ public class MilestoneTimePlayedRequirement implements Requirement {
         public void progress(Object obj) {
             if (matchesMethod(obj)) {
                 if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount += 30; // Each event represents 30 seconds of playtime
-                    progressAmount = Math.min(progressAmount, this.requirement.totalTime);
+                    settle();
                 }
             }
         }
@@ -80,25 +116,26 @@ public class MilestoneTimePlayedRequirement implements Requirement {
 
         @Override
         public double getPercentageComplete() {
-            return (double) progressAmount / requirement.totalTime;
+            return (double) getPlayedSeconds() / requirement.totalTime;
         }
 
         @Override
         public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
             this.progressAmount = configurationSection.getInt("progressAmount");
+            this.lastSettled = System.currentTimeMillis();
             return this;
         }
 
         @Override
         public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+            configurationSection.set("progressAmount", getPlayedSeconds());
         }
 
         @Override
-        public String getProgressString() {
-            return CobbleChallengeMod.instance.getAPI().getRawMiniMessageString("challenges.progression-string")
-                .replace("{current}", String.valueOf(this.progressAmount))
-                .replace("{target}", String.valueOf(this.requirement.totalTime));
+        public Component getProgressComponent() {
+            return CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
+                    "{current}", String.valueOf(getPlayedSeconds()),
+                    "{target}", String.valueOf(this.requirement.totalTime));
         }
     }
 }
\ No newline at end of file
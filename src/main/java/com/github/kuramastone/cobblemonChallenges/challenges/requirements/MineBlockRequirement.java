@@ -2,16 +2,10 @@ package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.BlockFilter;
 import com.github.kuramastone.cobblemonChallenges.events.BlockBreakEvent;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.minecraft.core.registries.BuiltInRegistries;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
-import java.util.UUID;
-
-public class MineBlockRequirement implements Requirement {
+public class MineBlockRequirement implements CounterRequirement {
     public static final String ID = "Mine_Block";
 
     @YamlKey("type")
@@ -19,11 +13,15 @@ public class MineBlockRequirement implements Requirement {
     @YamlKey("amount")
     private int amount = 1;
 
+    private BlockFilter blockFilter;
+
     public MineBlockRequirement() {
     }
 
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        blockFilter = BlockFilter.compile(blockType);
+        return this;
     }
 
     // The requirement name now returns the ID used to recognize it
@@ -33,82 +31,30 @@ public class MineBlockRequirement implements Requirement {
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new MineBlockProgression(profile, this);
+    public Class<BlockBreakEvent> getType() {
+        return BlockBreakEvent.class;
     }
 
-    // Static nested Progression class
-    public static class MineBlockProgression implements Progression<BlockBreakEvent> {
-
-        private PlayerProfile profile;
-        public final MineBlockRequirement requirement;
-        private int progressAmount;
-
-        public MineBlockProgression(PlayerProfile profile, MineBlockRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public Class<BlockBreakEvent> getType() {
-            return BlockBreakEvent.class;
-        }
-
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                    progressAmount = Math.min(progressAmount, this.requirement.amount);
-                }
-            }
-        }
-
-        @Override
-        public boolean meetsCriteria(BlockBreakEvent event) {
-
-            String itemName = BuiltInRegistries.BLOCK.wrapAsHolder(event.getBlockState().getBlock()).getRegisteredName();
-
-            if (!StringUtils.doesStringContainCategory(requirement.blockType.split("/"), itemName)) {
-                return false;
-            }
-
-            return true;
-        }
-
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        BlockBreakEvent event = getType().cast(obj);
+        return meetsCriteria(event) ? 1 : 0;
+    }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
-        }
+    private boolean meetsCriteria(BlockBreakEvent event) {
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (!blockFilter.matches(event.getBlockState())) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
+        return true;
     }
 }
\ No newline at end of file
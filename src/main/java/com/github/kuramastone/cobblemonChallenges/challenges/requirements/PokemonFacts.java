@@ -0,0 +1,95 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
+
+import com.cobblemon.mod.common.api.types.ElementalType;
+import com.cobblemon.mod.common.pokemon.Pokemon;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Lazily extracted properties of a pokemon that requirements filter on. Names are lowercase so they can be handed
+ * straight to the compiled filters.
+ */
+public class PokemonFacts {
+
+    private final Pokemon pokemon;
+
+    private String speciesName;
+    private String[] typeNames;
+    private Set<String> labels;
+    private String caughtBallName;
+    private Boolean shiny;
+    private Boolean legendary;
+    private Boolean mythical;
+    private Boolean ultraBeast;
+
+    public PokemonFacts(Pokemon pokemon) {
+        this.pokemon = pokemon;
+    }
+
+    public Pokemon getPokemon() {
+        return pokemon;
+    }
+
+    public String getSpeciesName() {
+        if (speciesName == null) {
+            speciesName = pokemon.getSpecies().getName().toLowerCase(Locale.ROOT);
+        }
+        return speciesName;
+    }
+
+    public String[] getTypeNames() {
+        if (typeNames == null) {
+            List<String> names = new ArrayList<>(2);
+            for (ElementalType type : pokemon.getTypes()) {
+                names.add(type.getName().toLowerCase(Locale.ROOT));
+            }
+            typeNames = names.toArray(new String[0]);
+        }
+        return typeNames;
+    }
+
+    public Set<String> getLabels() {
+        if (labels == null) {
+            labels = pokemon.getForm().getLabels();
+        }
+        return labels;
+    }
+
+    public String getCaughtBallName() {
+        if (caughtBallName == null) {
+            caughtBallName = pokemon.getCaughtBall().getName().toString().toLowerCase(Locale.ROOT);
+        }
+        return caughtBallName;
+    }
+
+    public boolean isShiny() {
+        if (shiny == null) {
+            shiny = pokemon.getShiny();
+        }
+        return shiny;
+    }
+
+    public boolean isLegendary() {
+        if (legendary == null) {
+            legendary = pokemon.isLegendary();
+        }
+        return legendary;
+    }
+
+    public boolean isMythical() {
+        if (mythical == null) {
+            mythical = pokemon.isMythical();
+        }
+        return mythical;
+    }
+
+    public boolean isUltraBeast() {
+        if (ultraBeast == null) {
+            ultraBeast = pokemon.isUltraBeast();
+        }
+        return ultraBeast;
+    }
+}
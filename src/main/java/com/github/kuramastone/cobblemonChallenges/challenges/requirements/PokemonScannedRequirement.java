@@ -6,14 +6,12 @@ import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import java.io.EOFException;
-import java.util.UUID;
 
-public class PokemonScannedRequirement implements Requirement {
+public class PokemonScannedRequirement implements CounterRequirement {
 
     public static final String ID = "pokemon_scanned";
 
@@ -22,6 +20,8 @@ public class PokemonScannedRequirement implements Requirement {
     @YamlKey(value = "pokename", required = false)
     private String pokename = "any"; // Number of Pokédex entries to complete
 
+    private NameFilter pokenameFilter;
+
     public PokemonScannedRequirement() {
     }
 
@@ -32,16 +32,17 @@ public class PokemonScannedRequirement implements Requirement {
 
     @Override
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        return this;
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
+    public int getInitialCount(PlayerProfile profile) {
         /*
         Do not ask the player to scan more pokemon than possible
          */
 
-        CompletePokedexEntriesProgression ccp = new CompletePokedexEntriesProgression(profile, this);
         int maxPossibleToGain = this.amount;
         try {
             int currentAmount = Cobblemon.INSTANCE.getPlayerDataManager().getPokedexData(profile.getUUID()).getSpeciesRecords().size(); // 99
@@ -54,83 +55,36 @@ public class PokemonScannedRequirement implements Requirement {
 
         // cant ask them to gain more than the max
         if (this.amount > maxPossibleToGain)
-            ccp.progressAmount = this.amount - maxPossibleToGain;
+            return this.amount - maxPossibleToGain;
 
-        return ccp;
+        return 0;
     }
 
-    // Progression class to track progress
-    public static class CompletePokedexEntriesProgression implements Progression<PokemonScannedEvent> {
-
-        private PlayerProfile profile;
-        private PokemonScannedRequirement requirement;
-        private int progressAmount;
-
-        public CompletePokedexEntriesProgression(PlayerProfile profile, PokemonScannedRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public Class<PokemonScannedEvent> getType() {
-            return PokemonScannedEvent.class;
-        }
-
-        @Override
-        public boolean meetsCriteria(PokemonScannedEvent event) {
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), event.getScannedPokemonEntityData().getPokemon().getSpecies().getName())) {
-                return false;
-            }
-
-            return true;
-        }
-
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                    progressAmount = Math.min(progressAmount, this.requirement.amount);
-                }
-            }
-        }
+    @Override
+    public Class<PokemonScannedEvent> getType() {
+        return PokemonScannedEvent.class;
+    }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        PokemonScannedEvent event = getType().cast(obj);
+        return meetsCriteria(event) ? 1 : 0;
+    }
 
+    private boolean meetsCriteria(PokemonScannedEvent event) {
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
-        }
-
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if (!pokenameFilter.matches(event.getScannedPokemonEntityData().getPokemon().getSpecies().getName())) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
+        return true;
     }
-
 }
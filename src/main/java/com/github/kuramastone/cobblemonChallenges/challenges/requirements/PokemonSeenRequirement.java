@@ -6,13 +6,10 @@ import com.cobblemon.mod.common.api.pokemon.PokemonSpecies;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
-import java.util.UUID;
-
-public class PokemonSeenRequirement implements Requirement {
+public class PokemonSeenRequirement implements CounterRequirement {
 
     public static final String ID = "pokemon_seen";
 
@@ -21,6 +18,8 @@ public class PokemonSeenRequirement implements Requirement {
     @YamlKey(value = "pokename", required = false)
     private String pokename = "any"; // Number of Pokédex entries to complete
 
+    private NameFilter pokenameFilter;
+
     public PokemonSeenRequirement() {
     }
 
@@ -31,16 +30,17 @@ public class PokemonSeenRequirement implements Requirement {
 
     @Override
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        return this;
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
+    public int getInitialCount(PlayerProfile profile) {
         /*
         Do not ask the player to see more unique pokemon than possible
          */
 
-        PokemonSeenProgression ccp = new PokemonSeenProgression(profile, this);
         int maxPossibleToGain = this.amount;
         try {
             int currentAmount = Cobblemon.INSTANCE.getPlayerDataManager().getPokedexData(profile.getUUID()).getSpeciesRecords().size(); // 99
@@ -53,88 +53,41 @@ public class PokemonSeenRequirement implements Requirement {
 
         // cant ask them to gain more than the max
         if (this.amount > maxPossibleToGain)
-            ccp.progressAmount = this.amount - maxPossibleToGain;
+            return this.amount - maxPossibleToGain;
 
-        return ccp;
+        return 0;
     }
 
-    // Progression class to track progress
-    public static class PokemonSeenProgression implements Progression<PokemonSeenEvent> {
-
-        private PlayerProfile profile;
-        private PokemonSeenRequirement requirement;
-        public int progressAmount;
-
-        public PokemonSeenProgression(PlayerProfile profile, PokemonSeenRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public Class<PokemonSeenEvent> getType() {
-            return PokemonSeenEvent.class;
-        }
-
-        @Override
-        public boolean meetsCriteria(PokemonSeenEvent event) {
-
-            if (!StringUtils.doesStringContainCategory(requirement.pokename.split("/"), event.getPokemon().getSpecies().getName())) {
-                return false;
-            }
-
-            boolean hasSeenBefore = Cobblemon.INSTANCE.getPlayerDataManager().getPokedexData(event.getPlayerId()).getSpeciesRecords().containsKey(event.getPokemon().getSpecies().resourceIdentifier);
-            if (hasSeenBefore) {
-                return false;
-            }
-
-            return true;
-        }
-
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                    progressAmount = Math.min(progressAmount, this.requirement.amount);
-                }
-            }
-        }
+    @Override
+    public Class<PokemonSeenEvent> getType() {
+        return PokemonSeenEvent.class;
+    }
 
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        PokemonSeenEvent event = getType().cast(obj);
+        return meetsCriteria(event) ? 1 : 0;
+    }
 
+    private boolean meetsCriteria(PokemonSeenEvent event) {
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
+        if (!pokenameFilter.matches(event.getPokemon().getSpecies().getName())) {
+            return false;
         }
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        boolean hasSeenBefore = Cobblemon.INSTANCE.getPlayerDataManager().getPokedexData(event.getPlayerId()).getSpeciesRecords().containsKey(event.getPokemon().getSpecies().resourceIdentifier);
+        if (hasSeenBefore) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
+        return true;
     }
-
 }
@@ -1,6 +1,8 @@
 package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import java.util.UUID;
 
@@ -9,6 +11,13 @@ public interface Progression<T> {
 
     void progress(Object obj);
 
+    /**
+     * Progress using facts shared with the other progressions receiving the same event.
+     */
+    default void progress(Object obj, EventContext context) {
+        progress(obj);
+    }
+
     boolean matchesMethod(Object obj);
 
     double getPercentageComplete();
@@ -17,7 +26,11 @@ public interface Progression<T> {
 
     void writeTo(YamlConfig configurationSection);
 
-    String getProgressString();
+    Component getProgressComponent();
+
+    default String getProgressString() {
+        return PlainTextComponentSerializer.plainText().serialize(getProgressComponent());
+    }
 
     boolean meetsCriteria(T obj);
 
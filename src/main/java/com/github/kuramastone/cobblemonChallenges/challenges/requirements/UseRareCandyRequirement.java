@@ -3,16 +3,10 @@ package com.github.kuramastone.cobblemonChallenges.challenges.requirements;
 import com.cobblemon.mod.common.api.events.pokemon.interaction.ExperienceCandyUseEvent;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlKey;
-import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
-import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
-import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.LabelFilter;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters.NameFilter;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-
-public class UseRareCandyRequirement implements Requirement {
+public class UseRareCandyRequirement implements CounterRequirement {
     public static final String ID = "use_rare_candy";
 
     @YamlKey("pokename")
@@ -22,6 +16,9 @@ public class UseRareCandyRequirement implements Requirement {
     @YamlKey("required-tags")
     private String requiredLabels = "any";
 
+    private NameFilter pokenameFilter;
+    private LabelFilter labelFilter;
+
     public UseRareCandyRequirement() {
     }
 
@@ -32,87 +29,40 @@ public class UseRareCandyRequirement implements Requirement {
 
     @Override
     public Requirement load(YamlConfig section) {
-        return YamlConfig.loadFromYaml(this, section);
+        YamlConfig.loadFromYaml(this, section);
+        pokenameFilter = NameFilter.compile(pokename);
+        labelFilter = LabelFilter.compile(requiredLabels);
+        return this;
     }
 
     @Override
-    public Progression<?> buildProgression(PlayerProfile profile) {
-        return new UseRareCandyOnProgression(profile, this);
+    public Class<ExperienceCandyUseEvent> getType() {
+        return ExperienceCandyUseEvent.class;
     }
 
-    // Progression class to track the use of Rare Candies
-    public static class UseRareCandyOnProgression implements Progression<ExperienceCandyUseEvent> {
-
-        private PlayerProfile profile;
-        private UseRareCandyRequirement requirement;
-        private int progressAmount;
-
-        public UseRareCandyOnProgression(PlayerProfile profile, UseRareCandyRequirement requirement) {
-            this.profile = profile;
-            this.requirement = requirement;
-            this.progressAmount = 0;
-        }
-
-        @Override
-        public Class<ExperienceCandyUseEvent> getType() {
-            return ExperienceCandyUseEvent.class;
-        }
-
-        @Override
-        public boolean meetsCriteria(ExperienceCandyUseEvent event) {
-            // Get the Pokémon name being used with the Rare Candy
-            String pokemonName = event.getPokemon().getSpecies().getName();
-
-            if(!StringUtils.doesListMeetRequiredList(requirement.requiredLabels.split("/"), event.getPokemon().getForm().getLabels())) {
-                return false;
-            }
-
-            // Check if the Pokémon name meets the requirement
-            return StringUtils.doesStringContainCategory(requirement.pokename.split("/"), pokemonName);
-        }
-
-        @Override
-        public boolean isCompleted() {
-            return progressAmount >= requirement.amount;
-        }
-
-        @Override
-        public void progress(Object obj) {
-            if (matchesMethod(obj)) {
-                if (meetsCriteria(getType().cast(obj))) {
-                    progressAmount++;
-                    progressAmount = Math.min(progressAmount, this.requirement.amount);
-                }
-            }
-        }
-
-        @Override
-        public boolean matchesMethod(Object obj) {
-            return getType().isInstance(obj);
-        }
+    @Override
+    public int getAmount() {
+        return amount;
+    }
 
-        @Override
-        public double getPercentageComplete() {
-            return (double) progressAmount / requirement.amount;
+    @Override
+    public int countOf(Object obj, EventContext context) {
+        if (!getType().isInstance(obj)) {
+            return 0;
         }
+        ExperienceCandyUseEvent event = getType().cast(obj);
+        return meetsCriteria(event) ? 1 : 0;
+    }
 
-        @Override
-        public Progression loadFrom(UUID uuid, YamlConfig configurationSection) {
-            this.progressAmount = configurationSection.getInt("progressAmount");
-            return this;
-        }
+    private boolean meetsCriteria(ExperienceCandyUseEvent event) {
+        // Get the Pokémon name being used with the Rare Candy
+        String pokemonName = event.getPokemon().getSpecies().getName();
 
-        @Override
-        public void writeTo(YamlConfig configurationSection) {
-            configurationSection.set("progressAmount", progressAmount);
+        if(!labelFilter.matches(event.getPokemon().getForm().getLabels())) {
+            return false;
         }
 
-        @Override
-        public String getProgressString() {
-            return PlainTextComponentSerializer.plainText().serialize(
-                CobbleChallengeMod.instance.getAPI().getMiniMessage("challenges.progression-string",
-                "{current}", String.valueOf(this.progressAmount),
-                "{target}", String.valueOf(this.requirement.amount)));
-        }
+        // Check if the Pokémon name meets the requirement
+        return pokenameFilter.matches(pokemonName);
     }
 }
@@ -0,0 +1,34 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import java.util.Locale;
+
+/**
+ * Compiled form of a {@code ball} entry. Passes if the ball's identifier contains the configured text.
+ */
+public final class BallFilter {
+
+    public static final BallFilter ANY = new BallFilter(true, "");
+
+    private final boolean any;
+    private final String needle;
+
+    private BallFilter(boolean any, String needle) {
+        this.any = any;
+        this.needle = needle;
+    }
+
+    public static BallFilter compile(String phrase) {
+        if (phrase == null || phrase.toLowerCase(Locale.ROOT).startsWith("any")) {
+            return ANY;
+        }
+        return new BallFilter(false, phrase.toLowerCase(Locale.ROOT));
+    }
+
+    public boolean isAny() {
+        return any;
+    }
+
+    public boolean matches(String ballName) {
+        return any || ballName.toLowerCase(Locale.ROOT).contains(needle);
+    }
+}
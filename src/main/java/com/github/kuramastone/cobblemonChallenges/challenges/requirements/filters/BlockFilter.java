@@ -0,0 +1,91 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Compiled form of a block {@code type} entry such as {@code minecraft:stone/#minecraft:logs}. Block identifiers are
+ * resolved to registry ids once, so matching a block is a single bit lookup. Entries starting with {@code #} are
+ * block tags and are checked against the block state, since tag contents can change when datapacks reload.
+ */
+public final class BlockFilter {
+
+    public static final BlockFilter ANY = new BlockFilter(true, new BitSet(), List.of());
+
+    private final boolean any;
+    private final BitSet blockIds;
+    private final TagKey<Block>[] tags;
+
+    @SuppressWarnings("unchecked")
+    private BlockFilter(boolean any, BitSet blockIds, List<TagKey<Block>> tags) {
+        this.any = any;
+        this.blockIds = blockIds;
+        this.tags = tags.toArray(new TagKey[0]);
+    }
+
+    public static BlockFilter compile(String phrase) {
+        if (phrase == null || phrase.toLowerCase(Locale.ROOT).startsWith("any")) {
+            return ANY;
+        }
+
+        BitSet blockIds = new BitSet();
+        List<TagKey<Block>> tags = new ArrayList<>();
+        for (String entry : phrase.split("/")) {
+            String identifier = entry.trim().toLowerCase(Locale.ROOT);
+            if (identifier.equals("any")) {
+                return ANY;
+            }
+            if (identifier.isEmpty()) {
+                continue;
+            }
+
+            boolean isTag = identifier.startsWith("#");
+            ResourceLocation location = ResourceLocation.tryParse(isTag ? identifier.substring(1) : identifier);
+            if (location == null) {
+                CobbleChallengeMod.logger.warn("Invalid block identifier '{}' in '{}'.", entry, phrase);
+                continue;
+            }
+
+            if (isTag) {
+                tags.add(TagKey.create(Registries.BLOCK, location));
+                continue;
+            }
+
+            Optional<Block> block = BuiltInRegistries.BLOCK.getOptional(location);
+            if (block.isEmpty()) {
+                CobbleChallengeMod.logger.warn("Unknown block '{}' in '{}'.", entry, phrase);
+                continue;
+            }
+            blockIds.set(BuiltInRegistries.BLOCK.getId(block.get()));
+        }
+
+        return new BlockFilter(false, blockIds, tags);
+    }
+
+    public boolean isAny() {
+        return any;
+    }
+
+    public boolean matches(BlockState state) {
+        if (any || blockIds.get(BuiltInRegistries.BLOCK.getId(state.getBlock()))) {
+            return true;
+        }
+        for (TagKey<Block> tag : tags) {
+            if (state.is(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiled form of a {@code required-tags} entry. Every listed label must be present on the pokemon's form.
+ */
+public final class LabelFilter {
+
+    public static final LabelFilter ANY = new LabelFilter(new String[0]);
+
+    private final String[] requiredLabels;
+
+    private LabelFilter(String[] requiredLabels) {
+        this.requiredLabels = requiredLabels;
+    }
+
+    public static LabelFilter compile(String phrase) {
+        if (phrase == null) {
+            return ANY;
+        }
+
+        List<String> labels = new ArrayList<>();
+        for (String entry : phrase.split("/")) {
+            String label = entry.trim().toLowerCase(Locale.ROOT);
+            if (label.equals("any")) {
+                return ANY;
+            }
+            if (!label.isEmpty()) {
+                labels.add(label);
+            }
+        }
+
+        return labels.isEmpty() ? ANY : new LabelFilter(labels.toArray(new String[0]));
+    }
+
+    public boolean isAny() {
+        return requiredLabels.length == 0;
+    }
+
+    public boolean matches(Set<String> labels) {
+        for (String required : requiredLabels) {
+            if (!labels.contains(required) && !containsIgnoreCase(labels, required)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsIgnoreCase(Set<String> labels, String required) {
+        for (String label : labels) {
+            if (label.equalsIgnoreCase(required)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
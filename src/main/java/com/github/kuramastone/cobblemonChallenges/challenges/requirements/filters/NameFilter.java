@@ -0,0 +1,50 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiled form of a "/" separated name list such as {@code pokename: pikachu/eevee}. Entries are stored lowercase so
+ * a match is a single hash lookup.
+ */
+public final class NameFilter {
+
+    public static final NameFilter ANY = new NameFilter(true, Set.of());
+
+    private final boolean any;
+    private final Set<String> names;
+
+    private NameFilter(boolean any, Set<String> names) {
+        this.any = any;
+        this.names = names;
+    }
+
+    public static NameFilter compile(String phrase) {
+        if (phrase == null) {
+            return ANY;
+        }
+
+        Set<String> names = new HashSet<>();
+        for (String entry : phrase.split("/")) {
+            String name = entry.trim().toLowerCase(Locale.ROOT);
+            if (name.equals("any")) {
+                return ANY;
+            }
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+
+        return new NameFilter(false, Set.copyOf(names));
+    }
+
+    public boolean isAny() {
+        return any;
+    }
+
+    public boolean matches(String actual) {
+        // toLowerCase returns the same instance when the name is already lowercase
+        return any || names.contains(actual.toLowerCase(Locale.ROOT));
+    }
+}
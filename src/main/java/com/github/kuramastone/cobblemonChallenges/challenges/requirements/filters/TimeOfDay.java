@@ -0,0 +1,30 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+public enum TimeOfDay {
+    DAWN(0, 1000),
+    DAY(1000, 12000),
+    DUSK(12000, 13000),
+    NIGHT(13000, 24000);
+
+    private final long start;
+    private final long end;
+
+    TimeOfDay(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public boolean contains(long dayTime) {
+        long normalizedTime = dayTime % 24000;
+        return normalizedTime >= start && normalizedTime < end;
+    }
+
+    public static TimeOfDay fromName(String name) {
+        for (TimeOfDay time : values()) {
+            if (time.name().equalsIgnoreCase(name)) {
+                return time;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+
+import java.util.EnumSet;
+import java.util.Locale;
+
+/**
+ * Compiled form of a {@code time_of_day} entry such as {@code dawn/dusk}. Unknown phrases are reported once at load
+ * and otherwise ignored. A filter with no recognised phrase never matches, so a typo doesn't open a challenge to every
+ * time of day.
+ */
+public final class TimeOfDayFilter {
+
+    public static final TimeOfDayFilter ANY = new TimeOfDayFilter(EnumSet.allOf(TimeOfDay.class));
+    public static final TimeOfDayFilter NONE = new TimeOfDayFilter(EnumSet.noneOf(TimeOfDay.class));
+
+    private final TimeOfDay[] times;
+
+    private TimeOfDayFilter(EnumSet<TimeOfDay> times) {
+        this.times = times.toArray(new TimeOfDay[0]);
+    }
+
+    public static TimeOfDayFilter compile(String phrase) {
+        if (phrase == null || phrase.toLowerCase(Locale.ROOT).startsWith("any")) {
+            return ANY;
+        }
+
+        EnumSet<TimeOfDay> times = EnumSet.noneOf(TimeOfDay.class);
+        for (String entry : phrase.split("/")) {
+            String name = entry.trim();
+            if (name.equalsIgnoreCase("any")) {
+                return ANY;
+            }
+            TimeOfDay time = TimeOfDay.fromName(name);
+            if (time == null) {
+                CobbleChallengeMod.logger.warn("Unknown time_of_day '{}' in '{}'. Expected dawn, day, dusk or night.", name, phrase);
+                continue;
+            }
+            times.add(time);
+        }
+
+        if (times.isEmpty()) {
+            return NONE;
+        }
+        if (times.size() == TimeOfDay.values().length) {
+            return ANY;
+        }
+        return new TimeOfDayFilter(times);
+    }
+
+    public boolean isAny() {
+        return this == ANY;
+    }
+
+    public boolean matches(long dayTime) {
+        if (isAny()) {
+            return true;
+        }
+        for (TimeOfDay time : times) {
+            if (time.contains(dayTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiled form of a {@code pokemon_type} entry. Passes if any of the pokemon's types is in the list.
+ */
+public final class TypeFilter {
+
+    public static final TypeFilter ANY = new TypeFilter(true, Set.of());
+
+    private final boolean any;
+    private final Set<String> typeNames;
+
+    private TypeFilter(boolean any, Set<String> typeNames) {
+        this.any = any;
+        this.typeNames = typeNames;
+    }
+
+    public static TypeFilter compile(String phrase) {
+        if (phrase == null || phrase.toLowerCase(Locale.ROOT).startsWith("any")) {
+            return ANY;
+        }
+
+        Set<String> typeNames = new HashSet<>();
+        for (String entry : phrase.split("/")) {
+            String type = entry.trim().toLowerCase(Locale.ROOT);
+            if (type.equals("any")) {
+                return ANY;
+            }
+            if (!type.isEmpty()) {
+                typeNames.add(type);
+            }
+        }
+
+        return new TypeFilter(false, Set.copyOf(typeNames));
+    }
+
+    public boolean isAny() {
+        return any;
+    }
+
+    public boolean matches(String typeName) {
+        return any || typeNames.contains(typeName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * @param typeNames Lowercase names of the pokemon's types
+     */
+    public boolean matchesAny(String[] typeNames) {
+        if (any) {
+            return true;
+        }
+        for (String typeName : typeNames) {
+            if (this.typeNames.contains(typeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
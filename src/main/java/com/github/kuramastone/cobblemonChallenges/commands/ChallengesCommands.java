@@ -39,19 +39,18 @@ public class ChallengesCommands {
     @Subcommand("restart")
     @CommandPermission("challenges.commands.restart")
     public void handleRestartCommand(FabricCommandActor actor, ServerPlayer player) throws CommandSyntaxException {
-        PlayerProfile profile = CobbleChallengeMod.instance.getAPI().getOrCreateProfile(player.getUUID());
+        api.withProfile(player.getUUID(), profile -> {
+            profile.resetChallenges();
+            profile.addUnrestrictedChallenges();
 
-        profile.resetChallenges();
-        profile.addUnrestrictedChallenges();
-
-        actor.sendRawMessage(FabricAdapter.adapt(api.getMessage("commands.restart")));
+            actor.sendRawMessage(FabricAdapter.adapt(api.getMessage("commands.restart")));
+        });
     }
 
     @Subcommand("reload")
     @CommandPermission(value = "challenges.commands.reload", vanilla = 2)
     public void handleReloadCommand(FabricCommandActor actor) {
-        api.reloadConfig();
-        actor.sendRawMessage(FabricAdapter.adapt(api.getMessage("commands.reload")));
+        api.reloadConfig().thenRun(() -> actor.sendRawMessage(FabricAdapter.adapt(api.getMessage("commands.reload"))));
     }
 
     @Subcommand("forcecomplete")
@@ -60,9 +59,18 @@ public class ChallengesCommands {
         try {
             // If no target player specified, complete challenge for command sender
             ServerPlayer player = targetPlayer != null ? targetPlayer : actor.requirePlayer();
+            api.withProfile(player.getUUID(), profile -> {
+                profile.addUnrestrictedChallenges();
+                forceComplete(actor, player, profile, challengeName);
+            });
+        } catch (Exception e) {
+            actor.sendRawMessage(Component.literal("Error: " + e.getMessage()).withStyle(ChatFormatting.RED));
+            e.printStackTrace();
+        }
+    }
 
-            PlayerProfile profile = api.getOrCreateProfile(player.getUUID());
-
+    private void forceComplete(FabricCommandActor actor, ServerPlayer player, PlayerProfile profile, String challengeName) {
+        try {
             // If no challenge name provided, show list of active challenges with numbers
             if (challengeName == null || challengeName.isEmpty()) {
                 List<com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress> activeChallenges = new ArrayList<>();
@@ -150,13 +158,19 @@ public class ChallengesCommands {
             ServerPlayer player = actor.requirePlayer();
             if(challengeList == null) {
 
-                ChallengeMenuGUI gui = new ChallengeMenuGUI(api, api.getOrCreateProfile(player.getUUID()));
-                gui.open();
-                if (!player.hasContainerOpen())
-                    player.displayClientMessage(FabricAdapter.adapt(api.getMessage("commands.opening-base-gui")), false);
+                api.withProfile(player.getUUID(), profile -> {
+                    profile.addUnrestrictedChallenges();
+                    ChallengeMenuGUI gui = new ChallengeMenuGUI(api, profile);
+                    gui.open();
+                    if (!player.hasContainerOpen())
+                        player.displayClientMessage(FabricAdapter.adapt(api.getMessage("commands.opening-base-gui")), false);
+                });
             }
             else {
-                new ChallengeListGUI(api, api.getOrCreateProfile(player.getUUID()), challengeList, api.getConfigOptions().getChallengeGuiConfig(challengeList.getName())).open();
+                api.withProfile(player.getUUID(), profile -> {
+                    profile.addUnrestrictedChallenges();
+                    new ChallengeListGUI(api, profile, challengeList, api.getConfigOptions().getChallengeGuiConfig(challengeList.getName())).open();
+                });
             }
         } catch (Exception e) {
             e.printStackTrace();
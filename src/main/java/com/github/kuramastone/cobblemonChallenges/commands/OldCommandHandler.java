@@ -6,8 +6,11 @@ import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeList;
 import com.github.kuramastone.cobblemonChallenges.guis.ChallengeListGUI;
 import com.github.kuramastone.cobblemonChallenges.guis.ChallengeMenuGUI;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+import com.github.kuramastone.cobblemonChallenges.player.ProfileSaver;
 import com.github.kuramastone.cobblemonChallenges.utils.FabricAdapter;
 import com.github.kuramastone.cobblemonChallenges.utils.PermissionUtils;
+import com.mojang.authlib.GameProfile;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
@@ -22,7 +25,11 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Player;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class OldCommandHandler {
 
@@ -76,6 +83,21 @@ public class OldCommandHandler {
                                     .executes(OldCommandHandler::handleForceCompleteOtherList)
                                     .then(Commands.argument("challenge", StringArgumentType.greedyString())
                                             .executes(OldCommandHandler::handleForceCompleteOther))))
+                    .then(Commands.literal("export-data")
+                            .requires(source -> hasPermission(source, "challenges.commands.admin.data"))
+                            .executes(OldCommandHandler::handleExportDataCommand))
+                    .then(Commands.literal("completions")
+                            .requires(source -> hasPermission(source, "challenges.commands.admin.data"))
+                            .then(Commands.argument("challenge", StringArgumentType.greedyString())
+                                    .executes(context -> handleCompletionsCommand(context, 0))))
+                    .then(Commands.literal("completions-since")
+                            .requires(source -> hasPermission(source, "challenges.commands.admin.data"))
+                            .then(Commands.argument("days", IntegerArgumentType.integer(1))
+                                    .then(Commands.argument("challenge", StringArgumentType.greedyString())
+                                            .executes(context -> handleCompletionsCommand(context, IntegerArgumentType.getInteger(context, "days"))))))
+                    .then(Commands.literal("save-status")
+                            .requires(source -> hasPermission(source, "challenges.commands.admin.data"))
+                            .executes(OldCommandHandler::handleSaveStatusCommand))
             );
 
             // Register alias command /misiones
@@ -120,12 +142,12 @@ public class OldCommandHandler {
 
     private static int handleRestartCommand(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
         Player player = EntityArgument.getPlayer(context, "player");
-        PlayerProfile profile = CobbleChallengeMod.instance.getAPI().getOrCreateProfile(player.getUUID());
+        api.withProfile(player.getUUID(), profile -> {
+            profile.resetChallenges();
+            profile.addUnrestrictedChallenges();
 
-        profile.resetChallenges();
-        profile.addUnrestrictedChallenges();
-
-        context.getSource().sendSystemMessage(FabricAdapter.adapt(api.getMiniMessage("commands.restart")));
+            context.getSource().sendSystemMessage(FabricAdapter.adapt(api.getMiniMessage("commands.restart")));
+        });
         return 1;
     }
 
@@ -146,9 +168,8 @@ public class OldCommandHandler {
 
     private static int handleReloadCommand(CommandContext<CommandSourceStack> context) {
         // The reloadConfig method now handles rotation prevention internally
-        api.reloadConfig();
-
-        context.getSource().sendSystemMessage(FabricAdapter.adapt(api.getMiniMessage("commands.reload")));
+        CommandSourceStack source = context.getSource();
+        api.reloadConfig().thenRun(() -> source.sendSystemMessage(FabricAdapter.adapt(api.getMiniMessage("commands.reload"))));
         return 1;
     }
 
@@ -163,10 +184,13 @@ public class OldCommandHandler {
 
             ServerPlayer player = (ServerPlayer) source.getEntity();
 
-            ChallengeMenuGUI gui = new ChallengeMenuGUI(api, api.getOrCreateProfile(player.getUUID()));
-            gui.open();
-            if (!player.hasContainerOpen())
-                player.displayClientMessage(FabricAdapter.adapt(api.getMiniMessage("commands.opening-base-gui")), false);
+            api.withProfile(player.getUUID(), profile -> {
+                profile.addUnrestrictedChallenges();
+                ChallengeMenuGUI gui = new ChallengeMenuGUI(api, profile);
+                gui.open();
+                if (!player.hasContainerOpen())
+                    player.displayClientMessage(FabricAdapter.adapt(api.getMiniMessage("commands.opening-base-gui")), false);
+            });
             return 1;
         } catch (Exception e) {
             e.printStackTrace();
@@ -194,7 +218,10 @@ public class OldCommandHandler {
                 return 1;
             }
 
-            new ChallengeListGUI(api, api.getOrCreateProfile(player.getUUID()), challengeList, api.getConfigOptions().getChallengeGuiConfig(challengeList.getName())).open();
+            api.withProfile(player.getUUID(), profile -> {
+                profile.addUnrestrictedChallenges();
+                new ChallengeListGUI(api, profile, challengeList, api.getConfigOptions().getChallengeGuiConfig(challengeList.getName())).open();
+            });
             return 1;
         } catch (Exception e) {
             e.printStackTrace();
@@ -251,6 +278,62 @@ public class OldCommandHandler {
         return 0;
     }
     
+    private static int handleExportDataCommand(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        api.exportProfiles().whenComplete((exported, throwable) -> source.getServer().execute(() -> {
+            if (throwable != null) {
+                source.sendFailure(Component.literal("Failed to export player data. Check the console for details.").withStyle(ChatFormatting.RED));
+                throwable.printStackTrace();
+                return;
+            }
+            source.sendSuccess(() -> Component.literal("Exported " + exported + " player profiles to player-data-export.").withStyle(ChatFormatting.GREEN), true);
+        }));
+        return 1;
+    }
+
+    /**
+     * List players who completed a challenge, within the last number of days or ever if days is 0
+     */
+    private static int handleCompletionsCommand(CommandContext<CommandSourceStack> context, int days) {
+        CommandSourceStack source = context.getSource();
+        String challengeName = StringArgumentType.getString(context, "challenge");
+        if (api.getCatalog().getChallenge(challengeName) == null) {
+            source.sendFailure(Component.literal("Challenge '" + challengeName + "' not found.").withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        long since = days == 0 ? 0 : System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days);
+        api.findCompletedPlayers(challengeName, since).whenComplete((players, throwable) -> source.getServer().execute(() -> {
+            if (throwable != null) {
+                source.sendFailure(Component.literal("Failed to search player data. Check the console for details.").withStyle(ChatFormatting.RED));
+                throwable.printStackTrace();
+                return;
+            }
+
+            List<String> names = new ArrayList<>();
+            for (UUID uuid : players) {
+                names.add(source.getServer().getProfileCache().get(uuid).map(GameProfile::getName).orElse(uuid.toString()));
+            }
+            String period = days == 0 ? "" : " in the last " + days + " days";
+            source.sendSuccess(() -> Component.literal(players.size() + " players completed '" + challengeName + "'" + period + ": ")
+                    .withStyle(ChatFormatting.GREEN)
+                    .append(Component.literal(String.join(", ", names)).withStyle(ChatFormatting.WHITE)), false);
+        }));
+        return 1;
+    }
+
+    /**
+     * Show how far behind the profile saver is and how much it has written since startup
+     */
+    private static int handleSaveStatusCommand(CommandContext<CommandSourceStack> context) {
+        ProfileSaver saver = api.getProfileSaver();
+        String status = "Queued saves: " + saver.getQueueDepth()
+                + ", last save took " + saver.getLastSaveLatencyMillis() + "ms"
+                + ", written since startup: " + saver.getEntriesWritten() + " entries (" + saver.getBytesWritten() / 1024 + " KB)";
+        context.getSource().sendSuccess(() -> Component.literal(status).withStyle(ChatFormatting.GREEN), false);
+        return 1;
+    }
+
     private static int handleConfirmReplacement(CommandContext<CommandSourceStack> context) {
         try {
             CommandSourceStack source = context.getSource();
@@ -413,7 +496,14 @@ public class OldCommandHandler {
     }
 
     private static int showActiveChallengesList(CommandSourceStack source, ServerPlayer player) {
-        PlayerProfile profile = api.getOrCreateProfile(player.getUUID());
+        api.withProfile(player.getUUID(), profile -> {
+            profile.addUnrestrictedChallenges();
+            showActiveChallengesList(source, player, profile);
+        });
+        return 1;
+    }
+
+    private static int showActiveChallengesList(CommandSourceStack source, ServerPlayer player, PlayerProfile profile) {
         java.util.List<com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress> activeChallenges = new java.util.ArrayList<>();
 
         for (var entry : profile.getActiveChallengesMap().entrySet()) {
@@ -446,7 +536,14 @@ public class OldCommandHandler {
     }
 
     private static int forceCompleteChallenge(CommandSourceStack source, ServerPlayer player, String challengeInput) {
-        PlayerProfile profile = api.getOrCreateProfile(player.getUUID());
+        api.withProfile(player.getUUID(), profile -> {
+            profile.addUnrestrictedChallenges();
+            forceCompleteChallenge(source, player, profile, challengeInput);
+        });
+        return 1;
+    }
+
+    private static int forceCompleteChallenge(CommandSourceStack source, ServerPlayer player, PlayerProfile profile, String challengeInput) {
         com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress foundProgress = null;
 
         // Try to parse as number first
@@ -44,6 +44,9 @@ public class BlockBreakEvent {
     }
 
     private static void trigger(Level level, Player player, BlockPos blockPos, BlockState blockState, BlockEntity blockEntity) {
+        if (!ChallengeListener.hasInterest(BlockBreakEvent.class)) {
+            return;
+        }
         ChallengeListener.onBlockBreak(new BlockBreakEvent(blockState, blockPos, level, player));
     }
 
@@ -46,6 +46,9 @@ public class BlockPlaceEvent {
 
     private static InteractionResult trigger(Player player, Level level, InteractionHand interactionHand, BlockHitResult blockHitResult) {
         try {
+            if (!ChallengeListener.hasInterest(BlockPlaceEvent.class)) {
+                return InteractionResult.PASS;
+            }
             ChallengeListener.onBlockPlace(new BlockPlaceEvent(level.getBlockState(blockHitResult.getBlockPos()), blockHitResult.getBlockPos(), level, player));
 
             return InteractionResult.PASS;
@@ -1,38 +1,93 @@
 package com.github.kuramastone.cobblemonChallenges.events;
 
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.MilestoneTimePlayedRequirement;
 import com.github.kuramastone.cobblemonChallenges.listeners.ChallengeListener;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
+import com.github.kuramastone.cobblemonChallenges.utils.DeadlineQueue;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.network.ServerGamePacketListenerImpl;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Playtime is measured from each player's session start rather than counted by a repeating broadcast. Each online
+ * player with an unfinished playtime requirement has a single checkpoint scheduled for when their closest requirement
+ * would be met. A {@link Played1SecondEvent} is only sent at that checkpoint and when the player disconnects.
+ */
 public class PlayTimeScheduler {
 
-    private static long currentTick = 0;
+    private static final DeadlineQueue<UUID> checkpoints = new DeadlineQueue<>();
+
+    public static void register() {
+        ServerTickEvents.START_SERVER_TICK.register(PlayTimeScheduler::onServerTick);
+        ServerPlayConnectionEvents.JOIN.register(PlayTimeScheduler::onJoin);
+        ServerPlayConnectionEvents.DISCONNECT.register(PlayTimeScheduler::onDisconnect);
+    }
 
     public static void onServerTick(MinecraftServer minecraftServer) {
         try {
-            // We only want to run this on the END phase to ensure everything is processed in one tick
-            currentTick++;
-
-            // trigger every 30 seconds (600 ticks = 30 seconds at 20 ticks per second)
-            if (currentTick % 600 == 0) {
-                thirtySecondTick();
+            for (UUID player : checkpoints.pollExpired(System.currentTimeMillis())) {
+                // only online players are scheduled, and their profiles stay loaded
+                PlayerProfile profile = CobbleChallengeMod.instance.getAPI().getLoadedProfile(player);
+                if (profile == null) {
+                    continue;
+                }
+                ChallengeListener.on1SecondPlayed(new Played1SecondEvent(profile));
+                reschedule(profile);
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    private static void thirtySecondTick() {
-        for (ServerPlayer player : CobbleChallengeMod.getMinecraftServer().getPlayerList().getPlayers()) {
-            PlayerProfile profile = CobbleChallengeMod.instance.getAPI().getOrCreateProfile(player.getUUID());
-            ChallengeListener.on1SecondPlayed(new Played1SecondEvent(profile));
+    /**
+     * Schedule the next checkpoint for this player based on their closest unfinished playtime requirement. Players who
+     * are offline or have no such requirement are left unscheduled.
+     */
+    public static void reschedule(PlayerProfile profile) {
+        if (profile.getSessionStart() < 0) {
+            checkpoints.cancel(profile.getUUID());
+            return;
+        }
+
+        long remaining = Long.MAX_VALUE;
+        for (PlayerProfile.TrackedProgression entry : profile.getTrackedProgressions(Played1SecondEvent.class)) {
+            if (entry.progression() instanceof MilestoneTimePlayedRequirement.MilestoneTimePlayedProgression prog && !prog.isCompleted()) {
+                remaining = Math.min(remaining, prog.getRemainingMillis());
+            }
+        }
+
+        if (remaining == Long.MAX_VALUE) {
+            checkpoints.cancel(profile.getUUID());
+            return;
         }
+
+        checkpoints.schedule(profile.getUUID(), System.currentTimeMillis() + remaining);
+    }
+
+    private static void onJoin(ServerGamePacketListenerImpl handler, PacketSender packetSender, MinecraftServer minecraftServer) {
+        CobbleChallengeMod.instance.getAPI().withProfile(handler.getPlayer().getUUID(), profile -> {
+            profile.startSession();
+            reschedule(profile);
+        });
+    }
+
+    private static void onDisconnect(ServerGamePacketListenerImpl handler, MinecraftServer minecraftServer) {
+        CobbleChallengeMod.instance.getAPI().withProfile(handler.getPlayer().getUUID(), profile -> {
+            // bank the time played this session before it ends
+            ChallengeListener.on1SecondPlayed(new Played1SecondEvent(profile));
+            profile.endSession();
+            profile.markDirty();
+            // playtime is settled without changing its percentage, so it is journaled here instead of as it progresses
+            for (PlayerProfile.TrackedProgression tracked : profile.getTrackedProgressions(Played1SecondEvent.class)) {
+                tracked.challengeProgress().journalRequirement(tracked.index());
+            }
+            reschedule(profile);
+        });
     }
 
 }
@@ -2,6 +2,9 @@ package com.github.kuramastone.cobblemonChallenges.events;
 
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
 
+/**
+ * Sent by {@link PlayTimeScheduler} when a player's playtime should be settled into their playtime requirements.
+ */
 public class Played1SecondEvent {
     private final PlayerProfile playerProfile;
 
@@ -9,14 +9,18 @@ import com.github.kuramastone.cobblemonChallenges.gui.ItemProvider;
 import com.github.kuramastone.cobblemonChallenges.gui.SimpleWindow;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
 import com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress;
+import com.github.kuramastone.cobblemonChallenges.utils.ConfigOptions;
 import com.github.kuramastone.cobblemonChallenges.utils.FabricAdapter;
 import com.github.kuramastone.cobblemonChallenges.utils.ItemUtils;
+import com.github.kuramastone.cobblemonChallenges.utils.MessageTemplate;
 import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
-import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
 import net.minecraft.core.component.DataComponentType;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.util.Unit;
 import net.minecraft.world.item.ItemStack;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +32,10 @@ public class ChallengeItem implements ItemProvider {
     private PlayerProfile profile;
     private Challenge challenge;
 
+    // the last item built and what it was built from
+    private RenderKey lastKey;
+    private ItemStack lastItem;
+
     public ChallengeItem(SimpleWindow window, PlayerProfile profile, Challenge challenge) {
         this.window = window;
         this.profile = profile;
@@ -37,105 +45,121 @@ public class ChallengeItem implements ItemProvider {
 
     @Override
     public ItemStack build() {
-        boolean inProgress = profile.isChallengeInProgress(challenge.getName());
-        boolean completed = profile.isChallengeCompleted(challenge.getName());
-        
-        // Building challenge item
+        ChallengeProgress progress = profile.getActiveChallengeProgress(challenge);
+        boolean inProgress = progress != null;
+        boolean completed = profile.isChallengeCompleted(challenge);
+        ChallengeLoreTemplate template = ChallengeLoreTemplate.of(api, challenge);
+
+        // only the progress and timer change between updates, so skip rebuilding while neither has
+        RenderKey key = new RenderKey(template, completed, inProgress ? progressKey(progress) : null, getSecondsRemaining(progress, completed));
+        if (key.equals(lastKey)) {
+            return lastItem.copy();
+        }
 
-        ItemStack item = FabricAdapter.toItemStack(challenge.getDisplayConfig());
+        ItemStack item = template.newItem();
 
         //format lore
+        List<Component> status = getProgressionStatus(progress, completed);
+        List<Component> trackingTag = getTrackingTag(progress, key.secondsRemaining());
         List<net.minecraft.network.chat.Component> loreComponents = new ArrayList<>();
-
-        // Keep description as MiniMessage text for proper processing
-        List<String> descriptionLines = challenge.getDescriptionLines();
-
-        for (String line : challenge.getDisplayConfig().getLore()) {
-            // Handle {description} replacement specially
-            if (line.contains("{description}")) {
-                // Process each description line individually as MiniMessage
-                for (String descLine : descriptionLines) {
-                    if (!descLine.trim().isEmpty()) {
-                        net.kyori.adventure.text.Component adventureComponent = com.github.kuramastone.cobblemonChallenges.utils.MiniMessageUtils.parse(descLine);
-                        loreComponents.add(FabricAdapter.adapt(adventureComponent));
-                    }
-                }
-                continue; // Skip normal processing for description lines
+        for (ChallengeLoreTemplate.Line line : template.getLines()) {
+            if (line.isStatic()) {
+                loreComponents.addAll(line.parsed());
+                continue;
             }
-
-            String[] replacements = {
-                    "{progression_status}", null,
-                    "{tracking-tag}", null
-            };
-
-            // insert correct tracking tag
-            if(challenge.doesNeedSelection()) {
-                if (profile.isChallengeInProgress(challenge.getName())) {
-                    long timeRemaining = profile.getActiveChallengeProgress(challenge.getName()).getTimeRemaining();
-                    replacements[3] = api.getRawMiniMessageString("challenges.tracking-tag.after-starting").replace("{time-remaining}",
-                            StringUtils.formatSecondsToString(timeRemaining / 1000));
-                }
-                else {
-                    long timeRemaining = challenge.getMaxTimeInMilliseconds();
-                    replacements[3] = api.getRawMiniMessageString("challenges.tracking-tag.before-starting").replace("{time-remaining}",
-                            StringUtils.formatSecondsToString(timeRemaining / 1000));
-                }
-            }
-
-            // insert correct progress tag
-            if (profile.isChallengeCompleted(challenge.getName())) {
-                replacements[1] = api.getRawMiniMessageString("challenges.progression_status.post-completion");
-                replacements[3] = ""; // remove tracking tag if completed
-            }
-            else if (profile.isChallengeInProgress(challenge.getName())) {
-                String progressLines = profile.getActiveChallengeProgress(challenge.getName()).getProgressListAsString();
-                replacements[1] = api.getRawMiniMessageString("challenges.progression_status.during-attempt") + "\n" + progressLines;
-            }
-            else if (!challenge.doesNeedSelection()) {
-                // For automatic challenges that aren't in progress, show "Can be attempted"
-                // The proper initialization should happen in PlayerProfile.addUnrestrictedChallenges()
-                replacements[1] = api.getRawMiniMessageString("challenges.progression_status.before-attempt");
-            }
-            else {
-                replacements[1] = api.getRawMiniMessageString("challenges.progression_status.before-attempt");
-            }
-
-            // remove tracking tag if no timer needed
-            if(!challenge.doesNeedSelection()) {
-                replacements[3] = "";
-            }
-
-            for (int i = 0; i < replacements.length; i += 2) {
-                if (replacements[i] != null && replacements[i + 1] != null)
-                    line = line.replace(replacements[i], replacements[i + 1]);
-            }
-
-            // Process MiniMessage and handle line breaks properly
-            String[] splitLines = StringUtils.splitByLineBreak(line);
-            for (String singleLine : splitLines) {
-                if (!singleLine.trim().isEmpty()) {
-                    net.kyori.adventure.text.Component adventureComponent = com.github.kuramastone.cobblemonChallenges.utils.MiniMessageUtils.parse(singleLine);
-                    loreComponents.add(FabricAdapter.adapt(adventureComponent));
+            for (MessageTemplate part : line.placeholders()) {
+                for (Component component : fillPlaceholders(part, status, trackingTag)) {
+                    loreComponents.add(FabricAdapter.adapt(component));
                 }
             }
         }
 
         ItemUtils.setLoreComponents(item, loreComponents);
 
-        if (profile.isChallengeCompleted(challenge.getName())) {
+        if (completed) {
             item = ItemUtils.setItem(item, api.getConfigOptions().getCompletedChallengeItem().getItem());
         }
-        else if (profile.isChallengeInProgress(challenge.getName()) && challenge.doesNeedSelection()) {
+        else if (inProgress && challenge.doesNeedSelection()) {
             item = ItemUtils.setItem(item, api.getConfigOptions().getActiveChallengeItem().getItem());
         }
 
         item.set(DataComponents.HIDE_ADDITIONAL_TOOLTIP, Unit.INSTANCE);
 
-        return item;
+        lastKey = key;
+        lastItem = item;
+        return item.copy();
+    }
+
+    /**
+     * @return What the progress lore is drawn from. Time-based progress isn't versioned, so its text is used instead.
+     */
+    private static Object progressKey(ChallengeProgress progress) {
+        return progress.hasTimeBasedProgress() ? progress.getProgressLines() : progress.getVersion();
+    }
+
+    /**
+     * @return The seconds shown in the tracking tag, or null if there is no tracking tag
+     */
+    private @Nullable Long getSecondsRemaining(@Nullable ChallengeProgress progress, boolean completed) {
+        if (completed || !challenge.doesNeedSelection()) {
+            return null;
+        }
+        long timeRemaining = progress != null ? progress.getTimeRemaining() : challenge.getMaxTimeInMilliseconds();
+        return timeRemaining / 1000;
+    }
+
+    private List<Component> getTrackingTag(@Nullable ChallengeProgress progress, @Nullable Long secondsRemaining) {
+        if (secondsRemaining == null) {
+            return List.of();
+        }
+        String tag = progress != null ? "challenges.tracking-tag.after-starting" : "challenges.tracking-tag.before-starting";
+        return api.getConfigOptions().getMessage(tag).renderLines("{time-remaining}", StringUtils.formatSecondsToComponent(secondsRemaining));
+    }
+
+    private List<Component> getProgressionStatus(@Nullable ChallengeProgress progress, boolean completed) {
+        ConfigOptions options = api.getConfigOptions();
+        if (completed) {
+            return options.getMessage("challenges.progression_status.post-completion").renderLines();
+        }
+        else if (progress != null) {
+            List<Component> lines = new ArrayList<>(options.getMessage("challenges.progression_status.during-attempt").renderLines());
+            lines.addAll(progress.getProgressLines());
+            return lines;
+        }
+        else {
+            // The proper initialization of automatic challenges happens in PlayerProfile.addUnrestrictedChallenges()
+            return options.getMessage("challenges.progression_status.before-attempt").renderLines();
+        }
+    }
+
+    /**
+     * @return The lore lines of one template line. A line holding only a placeholder becomes all of its lines.
+     */
+    private static List<Component> fillPlaceholders(MessageTemplate line, List<Component> status, List<Component> trackingTag) {
+        String raw = line.getRawText().trim();
+        if (raw.equals("{progression_status}")) {
+            return status;
+        }
+        if (raw.equals("{tracking-tag}")) {
+            return trackingTag;
+        }
+
+        // mixed with other text, so the inserted lines have to share this one
+        JoinConfiguration separator = JoinConfiguration.separator(Component.space());
+        return List.of(line.render(
+                "{progression_status}", Component.join(separator, status),
+                "{tracking-tag}", Component.join(separator, trackingTag)));
     }
 
     @Override
     public ItemProvider copy() {
         return new ChallengeItem(window, profile, challenge);
     }
+
+    /**
+     * Everything a challenge item is drawn from
+     */
+    private record RenderKey(ChallengeLoreTemplate template, boolean completed, @Nullable Object progress,
+                             @Nullable Long secondsRemaining) {
+    }
 }
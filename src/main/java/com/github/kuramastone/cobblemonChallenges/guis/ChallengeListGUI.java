@@ -65,12 +65,12 @@ public class ChallengeListGUI {
             }
 
             WindowItem item = new WindowItem(window, new ChallengeItem(window, profile, challenge));
-            if (challenge.doesNeedSelection() && profile.isChallengeInProgress(challenge.getName()))
+            if (challenge.doesNeedSelection() && profile.isChallengeInProgress(challenge))
                 item.setAutoUpdate(15, () ->
                         // check if this challenge requirement should auto-update
                         challenge.getRequirements().stream().anyMatch(it -> it instanceof MilestoneTimePlayedRequirement)
                                 // check if challenge has a timer that needs ticking
-                                || profile.isChallengeInProgress(challenge.getName())
+                                || profile.isChallengeInProgress(challenge)
                 );
             item.setRunnableOnClick(onChallengeClick(challenge, item));
             contents.add(item);
@@ -86,13 +86,13 @@ public class ChallengeListGUI {
             
             if (dragType == 0 && challenge.doesNeedSelection()) {
                 // Check if challenge is already completed
-                if (profile.isChallengeCompleted(challenge.getName())) {
+                if (profile.isChallengeCompleted(challenge)) {
                     profile.sendAdventureMessage(api.getMiniMessage("challenges.mission-already-completed"));
                     return;
                 }
                 
                 // Check if challenge is already in progress
-                if (profile.isChallengeInProgress(challenge.getName())) {
+                if (profile.isChallengeInProgress(challenge)) {
                     profile.sendAdventureMessage(api.getMiniMessage("challenges.mission-already-in-progress"));
                     return;
                 }
@@ -117,10 +117,10 @@ public class ChallengeListGUI {
                 }
             } else if (dragType == 1 && challenge.doesNeedSelection()) {
                 // Right click to remove challenge
-                if (profile.isChallengeInProgress(challenge.getName())) {
+                if (profile.isChallengeInProgress(challenge)) {
                     profile.sendAdventureMessage(api.getMiniMessage("challenges.mission-cancelled",
                         "{challenge_name}", challenge.getName()));
-                    profile.removeActiveChallenge(profile.getActiveChallengeProgress(challenge.getName()));
+                    profile.removeActiveChallenge(profile.getActiveChallengeProgress(challenge));
                     item.setAutoUpdate(10, () -> true);
                     item.notifyWindow();
                     // Challenge cancelled by player
@@ -0,0 +1,104 @@
+package com.github.kuramastone.cobblemonChallenges.guis;
+
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeAPI;
+import com.github.kuramastone.cobblemonChallenges.challenges.Challenge;
+import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeCatalog;
+import com.github.kuramastone.cobblemonChallenges.utils.FabricAdapter;
+import com.github.kuramastone.cobblemonChallenges.utils.MessageTemplate;
+import com.github.kuramastone.cobblemonChallenges.utils.MiniMessageUtils;
+import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a challenge's item that only change when challenges reload. Lore lines without progress or timer
+ * placeholders are parsed once here, the rest are compiled into templates to be filled in by {@link ChallengeItem}.
+ */
+final class ChallengeLoreTemplate {
+
+    // templates of the catalog in use, by challenge id. only touched on the server thread
+    private static final Map<Integer, ChallengeLoreTemplate> templates = new HashMap<>();
+    private static ChallengeCatalog templatesFor;
+
+    private final ItemStack baseItem;
+    private final List<Line> lines;
+
+    private ChallengeLoreTemplate(Challenge challenge) {
+        this.baseItem = FabricAdapter.toItemStack(challenge.getDisplayConfig());
+        this.lines = new ArrayList<>();
+
+        for (String line : challenge.getDisplayConfig().getLore()) {
+            if (line.contains("{description}")) {
+                // the whole line is replaced by the description, one lore line per description line
+                lines.add(new Line(parse(challenge.getDescriptionLines()), null));
+            }
+            else if (line.contains("{progression_status}") || line.contains("{tracking-tag}")) {
+                lines.add(new Line(null, compile(line)));
+            }
+            else {
+                lines.add(new Line(parse(List.of(StringUtils.splitByLineBreak(line))), null));
+            }
+        }
+    }
+
+    static ChallengeLoreTemplate of(CobbleChallengeAPI api, Challenge challenge) {
+        ChallengeCatalog catalog = api.getCatalog();
+        if (catalog != templatesFor) {
+            templates.clear();
+            templatesFor = catalog;
+        }
+        return templates.computeIfAbsent(challenge.getId(), (id) -> new ChallengeLoreTemplate(challenge));
+    }
+
+    /**
+     * Parse lines as MiniMessage, skipping blank ones
+     */
+    static List<Component> parse(List<String> text) {
+        List<Component> components = new ArrayList<>();
+        for (String line : text) {
+            if (!line.trim().isEmpty()) {
+                components.add(FabricAdapter.adapt(MiniMessageUtils.parse(line)));
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Compile each non-blank line of the text on its own
+     */
+    private static List<MessageTemplate> compile(String text) {
+        List<MessageTemplate> templates = new ArrayList<>();
+        for (String line : StringUtils.splitByLineBreak(text)) {
+            if (!line.trim().isEmpty()) {
+                templates.add(new MessageTemplate(line, null));
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * @return A new copy of the challenge's display item, without lore
+     */
+    ItemStack newItem() {
+        return baseItem.copy();
+    }
+
+    List<Line> getLines() {
+        return lines;
+    }
+
+    /**
+     * A lore line, either already parsed or still holding placeholders
+     */
+    record Line(List<Component> parsed, List<MessageTemplate> placeholders) {
+
+        boolean isStatic() {
+            return parsed != null;
+        }
+    }
+}
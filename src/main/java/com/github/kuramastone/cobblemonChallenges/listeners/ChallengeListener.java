@@ -18,7 +18,6 @@ import com.github.kuramastone.cobblemonChallenges.challenges.requirements.BreedP
 import com.github.kuramastone.cobblemonChallenges.challenges.requirements.DrawPokemonRequirement;
 import com.github.kuramastone.cobblemonChallenges.challenges.requirements.HatchPokemonRequirement;
 import com.github.kuramastone.cobblemonChallenges.events.*;
-import com.github.kuramastone.cobblemonChallenges.player.ChallengeProgress;
 import com.github.kuramastone.cobblemonChallenges.player.PlayerProfile;
 import kotlin.Unit;
 import net.minecraft.world.entity.player.Player;
@@ -37,12 +36,14 @@ public class ChallengeListener {
     }
 
     public static void passEvent(Object event, UUID player) {
-
-        PlayerProfile profile = api.getOrCreateProfile(player);
-        for (ChallengeProgress activeChallenge : profile.getActiveChallenges()) {
-            activeChallenge.progress(event);
+        // skip players that have nothing which can consume this event. players still loading are always interested
+        if (!api.getInterestRegistry().isInterested(event.getClass(), player)) {
+            return;
         }
 
+        // some events fire off the server thread, which owns the profile. profiles not in memory are read off it too
+        api.withProfile(player, profile -> profile.progressEvent(event));
+
     }
 
     public static void passEvent(Object event, Player player) {
@@ -55,6 +56,13 @@ public class ChallengeListener {
         }
     }
 
+    /**
+     * @return True if any player could consume an event of this type. Used to avoid building high-volume events.
+     */
+    public static boolean hasInterest(Class<?> eventType) {
+        return api.getInterestRegistry().hasInterest(eventType);
+    }
+
     public static void onBlockBreak(BlockBreakEvent event) {
         passEvent(event, event.getPlayer());
     }
@@ -128,7 +136,7 @@ public class ChallengeListener {
     }
 
     public static void on1SecondPlayed(Played1SecondEvent event) {
-        passEvent(event, event.getPlayerProfile().getPlayerEntity());
+        passEvent(event, event.getPlayerProfile().getUUID());
     }
 
     public static Unit onEggHatch(HatchEggEvent.Post event) {
@@ -165,9 +173,10 @@ public class ChallengeListener {
         // delay this to allow player to fully join before triggering
         TickScheduler.scheduleLater(60L, () -> {
             // Force initialization of automatic challenges when player joins
-            PlayerProfile profile = api.getOrCreateProfile(event.getPlayer().getUUID());
-            profile.addUnrestrictedChallenges(); // Ensure automatic challenges are added
-            passEvent(event, event.getPlayer());
+            api.withProfile(event.getPlayer().getUUID(), profile -> {
+                profile.addUnrestrictedChallenges(); // Ensure automatic challenges are added
+                profile.progressEvent(event);
+            });
         });
     }
 
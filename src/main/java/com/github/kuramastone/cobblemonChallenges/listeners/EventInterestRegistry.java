@@ -0,0 +1,72 @@
+package com.github.kuramastone.cobblemonChallenges.listeners;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which players currently hold a progression for each event type. This lets listeners drop events that
+ * nobody can consume before looking up any {@link com.github.kuramastone.cobblemonChallenges.player.PlayerProfile}.
+ * <p>
+ * A profile only registers its interest once loaded, so players whose profile is still loading are interested in every
+ * event. Their events wait for the load instead of being dropped.
+ */
+public class EventInterestRegistry {
+
+    private final Map<Class<?>, Set<UUID>> interestedPlayers = new ConcurrentHashMap<>();
+    private final Set<UUID> loadingPlayers = ConcurrentHashMap.newKeySet();
+
+    public void register(Class<?> eventType, UUID player) {
+        interestedPlayers.computeIfAbsent(eventType, (type) -> ConcurrentHashMap.newKeySet()).add(player);
+    }
+
+    public void unregister(Class<?> eventType, UUID player) {
+        interestedPlayers.computeIfPresent(eventType, (type, players) -> {
+            players.remove(player);
+            return players.isEmpty() ? null : players;
+        });
+    }
+
+    public void setLoading(UUID player, boolean loading) {
+        if (loading) {
+            loadingPlayers.add(player);
+        }
+        else {
+            loadingPlayers.remove(player);
+        }
+    }
+
+    /**
+     * @return True if this player has a progression for the event type or one of its superclasses, or their profile is
+     * still loading
+     */
+    public boolean isInterested(Class<?> eventType, UUID player) {
+        if (loadingPlayers.contains(player)) {
+            return true;
+        }
+        for (Class<?> type = eventType; type != null && type != Object.class; type = type.getSuperclass()) {
+            Set<UUID> players = interestedPlayers.get(type);
+            if (players != null && players.contains(player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return True if any player has a progression for the event type or one of its superclasses, or any profile is
+     * still loading
+     */
+    public boolean hasInterest(Class<?> eventType) {
+        if (!loadingPlayers.isEmpty()) {
+            return true;
+        }
+        for (Class<?> type = eventType; type != null && type != Object.class; type = type.getSuperclass()) {
+            if (interestedPlayers.containsKey(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
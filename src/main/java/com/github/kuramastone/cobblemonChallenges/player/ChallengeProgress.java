@@ -2,6 +2,7 @@ package com.github.kuramastone.cobblemonChallenges.player;
 
 import com.cobblemon.mod.common.entity.pokemon.PokemonEntity;
 import com.cobblemon.mod.common.pokemon.Pokemon;
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.cobblemonChallenges.challenges.requirements.*;
 import com.github.kuramastone.cobblemonChallenges.events.ChallengeCompletedEvent;
 import com.github.kuramastone.cobblemonChallenges.listeners.ChallengeListener;
@@ -9,14 +10,17 @@ import com.github.kuramastone.cobblemonChallenges.CobbleChallengeAPI;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
 import com.github.kuramastone.cobblemonChallenges.challenges.Challenge;
 import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeList;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.level.block.Block;
-import org.apache.commons.lang3.tuple.Pair;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Used to track a player's progress within a challenge
@@ -28,16 +32,62 @@ public class ChallengeProgress {
     private PlayerProfile profile;
     private ChallengeList parentList;
     private Challenge activeChallenge;
-    private List<Pair<String, Progression<?>>> progressionMap; // <requirement type name, RequirementProgress>
+    private List<Requirement> requirements; // shared with the challenge, indexed like the arrays below
+    private Progression<?>[] progressions; // progress of requirements that aren't counters, null for counters
+    private int[] counters; // progress of counter requirements
     private long startTime;
+    private boolean tracked; // whether this progress is currently indexed by its profile
+    private int completedRequirements; // number of requirements that are completed
+    private int version; // incremented whenever progress changes, so displays know when to redraw
 
-    public ChallengeProgress(CobbleChallengeAPI api, PlayerProfile profile, ChallengeList parentList, Challenge activeChallenge, List<Pair<String, Progression<?>>> progressionMap, long startTime) {
+    public ChallengeProgress(CobbleChallengeAPI api, PlayerProfile profile, ChallengeList parentList, Challenge activeChallenge, long startTime) {
         this.api = api;
         this.profile = profile;
         this.parentList = parentList;
         this.activeChallenge = activeChallenge;
-        this.progressionMap = progressionMap;
         this.startTime = startTime;
+        buildRequirements();
+        recountCompletedRequirements();
+    }
+
+    private void buildRequirements() {
+        this.requirements = activeChallenge.getRequirements();
+        this.progressions = new Progression<?>[requirements.size()];
+        this.counters = new int[requirements.size()];
+
+        for (int index = 0; index < progressions.length; index++) {
+            Requirement requirement = requirements.get(index);
+            if (requirement instanceof CounterRequirement counter) {
+                counters[index] = counter.getInitialCount(profile);
+            }
+            else {
+                progressions[index] = requirement.buildProgression(profile);
+            }
+        }
+    }
+
+    /**
+     * Move this progress onto the reloaded copy of its challenge. Requirements that are unchanged at the same position
+     * keep their progress, the rest start over.
+     */
+    void rebind(ChallengeList parentList, Challenge activeChallenge) {
+        List<Requirement> oldRequirements = requirements;
+        YamlConfig[] saved = new YamlConfig[oldRequirements.size()];
+        for (int index = 0; index < saved.length; index++) {
+            saved[index] = YamlConfig.direct(new LinkedHashMap<>());
+            writeRequirement(index, saved[index]);
+        }
+
+        this.parentList = parentList;
+        this.activeChallenge = activeChallenge;
+        buildRequirements();
+
+        for (int index = 0; index < Math.min(saved.length, requirements.size()); index++) {
+            if (requirements.get(index).getName().equals(oldRequirements.get(index).getName())) {
+                loadRequirement(index, profile.getUUID(), saved[index]);
+            }
+        }
+        recountCompletedRequirements();
     }
 
     public boolean hasTimeRanOut() {
@@ -47,6 +97,29 @@ public class ChallengeProgress {
         return (startTime + activeChallenge.getMaxTimeInMilliseconds()) < System.currentTimeMillis();
     }
 
+    /**
+     * @return The time this challenge runs out, or -1 if it has no time limit
+     */
+    public long getDeadline() {
+        if (activeChallenge.getMaxTimeInMilliseconds() == -1) {
+            return -1;
+        }
+        return startTime + activeChallenge.getMaxTimeInMilliseconds();
+    }
+
+    /**
+     * Queue or cancel this challenge's time limit to match whether it is tracked
+     */
+    void updateTimeLimit() {
+        long deadline = getDeadline();
+        if (tracked && deadline != -1) {
+            api.getTimeLimits().schedule(this, deadline);
+        }
+        else {
+            api.getTimeLimits().cancel(this);
+        }
+    }
+
     public long getTimeRemaining() {
         if (activeChallenge.getMaxTimeInMilliseconds() == -1) {
             return -1;
@@ -71,53 +144,235 @@ public class ChallengeProgress {
             return;
         }
 
-        // CobbleChallengeMod.logger.info("PROGRESS CHECK for challenge '{}' (player: {}) - obj: {}, hasTimeRanOut: {}, isCompleted: {}", 
-            // activeChallenge.getName(), profile.getUUID(), obj != null ? obj.getClass().getSimpleName() : "null", 
-            // hasTimeRanOut(), isCompleted());
-
         if (obj != null) {
-            for (Pair<String, Progression<?>> pair : this.progressionMap) {
-                Progression<?> prog = pair.getRight();
-                try {
-                    if (prog.matchesMethod(obj)) {
-                        prog.progress(obj);
-                    }
-                } catch (Exception e) {
-                    CobbleChallengeMod.logger.error("Error progressing challenge!");
-                    e.printStackTrace();
+            EventContext context = new EventContext(profile);
+            for (int index = 0; index < progressions.length; index++) {
+                if (getEventType(index).isInstance(obj)) {
+                    advance(index, obj, context);
                 }
             }
         }
 
-        if (hasTimeRanOut()) {
-            timeRanOut();
+        checkProgressState();
+    }
+
+    /**
+     * Progress a single requirement of this challenge. Used when the profile already knows which requirement consumes the event.
+     */
+    public void progress(int index, Object obj, EventContext context) {
+        if (this.activeChallenge == null || !tracked) {
+            return;
         }
-        else if (isCompleted()) { //only play if this progression made it level up
+
+        advance(index, obj, context);
+        checkProgressState();
+    }
+
+    private void advance(int index, Object obj, EventContext context) {
+        try {
+            boolean wasCompleted = isRequirementCompleted(index);
+            double wasPercentage = getPercentageComplete(index);
+
+            Progression<?> prog = progressions[index];
+            if (prog != null) {
+                prog.progress(obj, context);
+            }
+            else {
+                CounterRequirement counter = (CounterRequirement) requirements.get(index);
+                int added = counter.countOf(obj, context);
+                if (added > 0) {
+                    counters[index] = CounterProgression.add(counter, counters[index], added);
+                }
+            }
+
+            onProgressed(index, wasCompleted, wasPercentage);
+        } catch (Exception e) {
+            CobbleChallengeMod.logger.error("Error progressing challenge!");
+            e.printStackTrace();
+        }
+    }
+
+    // time limits are expired by the time limit queue, so only completion is checked here
+    private void checkProgressState() {
+        if (isCompleted()) { //only play if this progression made it level up
+            if (api.getConfigOptions().isDebug()) {
+                CobbleChallengeMod.logger.info("Challenge '{}' completed for player {}. Requirements: {}",
+                        activeChallenge.getName(), profile.getUUID(), getDebugString());
+            }
             completedActiveChallenge();
         }
     }
 
-    public boolean isCompleted() {
-        boolean allCompleted = true;
-        StringBuilder debugInfo = new StringBuilder();
-        
-        for (Pair<String, Progression<?>> pair : this.progressionMap) {
-            Progression<?> prog = pair.getRight();
-            boolean reqCompleted = prog.isCompleted();
-            debugInfo.append(String.format("Req '%s': %s (%s), ", 
-                pair.getKey(), reqCompleted ? "COMPLETED" : "INCOMPLETE", prog.getProgressString()));
-            
-            if (!reqCompleted) {
-                allCompleted = false;
+    private void onProgressed(int index, boolean wasCompleted, double wasPercentage) {
+        // most events don't meet the requirement's criteria, so only actual progress needs saving
+        if (getPercentageComplete(index) != wasPercentage) {
+            version++;
+            markDirty();
+            journalRequirement(index);
+        }
+
+        boolean nowCompleted = isRequirementCompleted(index);
+        if (!wasCompleted && nowCompleted) {
+            completedRequirements++;
+        }
+        else if (wasCompleted && !nowCompleted) {
+            completedRequirements--;
+        }
+    }
+
+    /**
+     * Recount completed requirements from scratch. Must be called after requirements are changed outside of
+     * {@link #progress}, such as when loading them from file.
+     */
+    public void recountCompletedRequirements() {
+        int count = 0;
+        for (int index = 0; index < progressions.length; index++) {
+            if (isRequirementCompleted(index)) {
+                count++;
+            }
+        }
+        this.completedRequirements = count;
+        version++;
+    }
+
+    /**
+     * Flag this progress as changed since its profile was last saved
+     */
+    public void markDirty() {
+        profile.markDirty();
+    }
+
+    /**
+     * Record this requirement's current progress in the journal, so it survives a crash before the next save
+     */
+    public void journalRequirement(int index) {
+        ProgressJournal journal = api.getJournal();
+        if (!journal.isEnabled()) {
+            return;
+        }
+
+        YamlConfig data = YamlConfig.direct(new LinkedHashMap<>());
+        writeRequirement(index, data);
+        journal.recordProgress(profile.getUUID(), parentList.getName(), activeChallenge.getName(), index, getRequirementName(index), data);
+    }
+
+    /**
+     * @return True if any requirement has made progress
+     */
+    public boolean hasAnyProgress() {
+        for (int index = 0; index < progressions.length; index++) {
+            if (getPercentageComplete(index) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A number that changes whenever progress made by events changes. Progress that accrues over time, see
+     * {@link #hasTimeBasedProgress}, changes without it.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return True if a requirement's progress can change without an event, such as time played
+     */
+    public boolean hasTimeBasedProgress() {
+        for (Requirement requirement : requirements) {
+            if (requirement instanceof MilestoneTimePlayedRequirement) {
+                return true;
             }
         }
-        
-        if (allCompleted && !progressionMap.isEmpty()) {
-            // CobbleChallengeMod.logger.warn("Challenge '{}' is ALREADY COMPLETED on creation! Requirements: {}", 
-// activeChallenge.getName(), debugInfo.toString());
+        return false;
+    }
+
+    public int getRequirementCount() {
+        return progressions.length;
+    }
+
+    public Requirement getRequirement(int index) {
+        return requirements.get(index);
+    }
+
+    public String getRequirementName(int index) {
+        return requirements.get(index).getName();
+    }
+
+    /**
+     * @return The progression of this requirement, or null if it is a counter stored by this progress
+     */
+    @Nullable
+    public Progression<?> getProgression(int index) {
+        return progressions[index];
+    }
+
+    /**
+     * @return The event type this requirement consumes
+     */
+    public Class<?> getEventType(int index) {
+        Progression<?> prog = progressions[index];
+        return prog != null ? prog.getType() : ((CounterRequirement) requirements.get(index)).getType();
+    }
+
+    public boolean isRequirementCompleted(int index) {
+        Progression<?> prog = progressions[index];
+        return prog != null ? prog.isCompleted() : counters[index] >= ((CounterRequirement) requirements.get(index)).getAmount();
+    }
+
+    public double getPercentageComplete(int index) {
+        Progression<?> prog = progressions[index];
+        return prog != null ? prog.getPercentageComplete() : (double) counters[index] / ((CounterRequirement) requirements.get(index)).getAmount();
+    }
+
+    public String getProgressString(int index) {
+        return PlainTextComponentSerializer.plainText().serialize(getProgressComponent(index));
+    }
+
+    public Component getProgressComponent(int index) {
+        Progression<?> prog = progressions[index];
+        return prog != null ? prog.getProgressComponent() : CounterProgression.getProgressComponent((CounterRequirement) requirements.get(index), counters[index]);
+    }
+
+    public void loadRequirement(int index, UUID uuid, YamlConfig section) {
+        Progression<?> prog = progressions[index];
+        if (prog != null) {
+            prog.loadFrom(uuid, section);
+        }
+        else {
+            counters[index] = section.getInt("progressAmount");
         }
-        
-        return allCompleted;
+    }
+
+    public void writeRequirement(int index, YamlConfig section) {
+        Progression<?> prog = progressions[index];
+        if (prog != null) {
+            prog.writeTo(section);
+        }
+        else {
+            section.set("progressAmount", counters[index]);
+        }
+    }
+
+    /**
+     * @return A copy of the counts of this challenge's counter requirements, indexed like its requirements
+     */
+    public int[] copyCounters() {
+        return counters.clone();
+    }
+
+    public boolean isCompleted() {
+        return completedRequirements >= progressions.length;
+    }
+
+    private String getDebugString() {
+        StringBuilder debugInfo = new StringBuilder();
+        for (int index = 0; index < progressions.length; index++) {
+            debugInfo.append(String.format("Req '%s': %s (%s), ",
+                    getRequirementName(index), isRequirementCompleted(index) ? "COMPLETED" : "INCOMPLETE", getProgressString(index)));
+        }
+        return debugInfo.toString();
     }
 
     public PlayerProfile getProfile() {
@@ -132,10 +387,6 @@ public class ChallengeProgress {
         return activeChallenge;
     }
 
-    public List<Pair<String, Progression<?>>> getProgressionMap() {
-        return progressionMap;
-    }
-
     public void timeRanOut() {
         // CobbleChallengeMod.logger.warn("CHALLENGE TIME EXPIRED: '{}' for player {} - Time limit: {}ms, Time remaining: {}ms", 
             // activeChallenge.getName(), profile.getUUID(), 
@@ -144,50 +395,51 @@ public class ChallengeProgress {
         profile.removeActiveChallenge(this);
     }
 
-    public String getProgressListAsString() {
-        StringBuilder sb = new StringBuilder();
+    /**
+     * @return One lore line per requirement
+     */
+    public List<Component> getProgressLines() {
+        List<Component> lines = new ArrayList<>(progressions.length);
 
-        for (Pair<String, Progression<?>> set : this.progressionMap) {
+        for (int index = 0; index < progressions.length; index++) {
+            Requirement requirement = requirements.get(index);
 
             String pokename = "{pokename}";
             String battlerData = "{battlerData}";
             String blockData = "";
-            if (set.getValue() instanceof CatchPokemonRequirement.CatchPokemonProgression prog) {
-                pokename = prog.requirement.pokename;
+            if (requirement instanceof CatchPokemonRequirement catchRequirement) {
+                pokename = catchRequirement.pokename;
             }
-            else if (set.getValue() instanceof EvolvePokemonRequirement.EvolvePokemonProgression prog) {
-                pokename = prog.requirement.pokename;
+            else if (requirement instanceof EvolvePokemonRequirement evolveRequirement) {
+                pokename = evolveRequirement.pokename;
             }
-            else if (set.getValue() instanceof DefeatBattlerRequirement.DefeatPokemonProgression prog) {
-                pokename = prog.requirement.pokename;
+            else if (requirement instanceof DefeatBattlerRequirement defeatRequirement) {
+                pokename = defeatRequirement.pokename;
 
-                if(!prog.requirement.pokemon_type.equalsIgnoreCase("any")) {
-                    battlerData = prog.requirement.pokemon_type;
+                if(!defeatRequirement.pokemon_type.equalsIgnoreCase("any")) {
+                    battlerData = defeatRequirement.pokemon_type;
                     battlerData = Character.toUpperCase(battlerData.charAt(0)) + battlerData.substring(1);
                 }
             }
-            else if (set.getValue() instanceof MineBlockRequirement.MineBlockProgression mineBlockProgression)
-                blockData = getPrettyBlockTypeOfFirst(mineBlockProgression.requirement.blockType) + " ";
-            else if (set.getValue() instanceof PlaceBlockRequirement.PlaceBlockProgression placeBlockProgression)
-                blockData = getPrettyBlockTypeOfFirst(placeBlockProgression.requirement.blockType) + " ";
+            else if (requirement instanceof MineBlockRequirement mineBlockRequirement)
+                blockData = getPrettyBlockTypeOfFirst(mineBlockRequirement.blockType);
+            else if (requirement instanceof PlaceBlockRequirement placeBlockRequirement)
+                blockData = getPrettyBlockTypeOfFirst(placeBlockRequirement.blockType);
 
             pokename = Character.toUpperCase(pokename.charAt(0)) + pokename.substring(1);
 
-            String reqTitle = api.getRawMiniMessageString("requirements.progression-shorthand.%s".formatted(set.getKey().toLowerCase()))
-                    .replace("{battlerData}", battlerData)
-                    .replace("{pokename}", pokename)
-                    .replace("{blockData}", blockData)
-                    .replace("  ", " ");
+            Component reqTitle = api.getMiniMessage("requirements.progression-shorthand.%s".formatted(getRequirementName(index).toLowerCase()),
+                    "{battlerData}", battlerData,
+                    "{pokename}", pokename,
+                    "{blockData}", blockData);
 
-            sb.append(api.getRawMiniMessageString("progression.progression-entry")
-                    .replace("{requirement-title}", reqTitle)
-                    .replace("{progression-string}", set.getValue().getProgressString())
-                    .replace("{block_data?}", "")
-            ).append("\n");
+            lines.add(api.getMiniMessage("progression.progression-entry",
+                    "{requirement-title}", reqTitle,
+                    "{progression-string}", getProgressComponent(index),
+                    "{block_data?}", ""));
         }
 
-        String result = sb.substring(0, sb.length() - "\n".length());
-        return result; // substring out the final \n
+        return lines;
     }
 
     private String getPrettyBlockTypeOfFirst(String blockIdentifierGroup) {
@@ -201,6 +453,10 @@ public class ChallengeProgress {
         for (int i = 0; i < blockIdentifierArray.length; i++) {
             String blockIdentifier = blockIdentifierArray[i];
 
+            if (blockIdentifier.startsWith("#")) {
+                builder.append(getPrettyTagName(blockIdentifier.substring(1)));
+                break;
+            }
 
             try {
                 Block block = BuiltInRegistries.BLOCK.get(ResourceLocation.parse(blockIdentifier));
@@ -215,6 +471,24 @@ public class ChallengeProgress {
         return builder.toString();
     }
 
+    /**
+     * @return The tag's path as words, such as "Oak Logs" for minecraft:oak_logs
+     */
+    private static String getPrettyTagName(String tagIdentifier) {
+        String path = tagIdentifier.substring(tagIdentifier.indexOf(':') + 1);
+        StringBuilder builder = new StringBuilder();
+        for (String word : path.split("[_/]")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (!builder.isEmpty()) {
+                builder.append(' ');
+            }
+            builder.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return builder.toString();
+    }
+
     @Override
     public String toString() {
         return "ChallengeProgress{" +
@@ -222,11 +496,24 @@ public class ChallengeProgress {
                 '}';
     }
 
+    public boolean isTracked() {
+        return tracked;
+    }
+
+    void setTracked(boolean tracked) {
+        this.tracked = tracked;
+        updateTimeLimit();
+    }
+
     public long getStartTime() {
         return startTime;
     }
 
     public void setStartTime(long startTime) {
         this.startTime = startTime;
+        markDirty();
+        if (tracked) {
+            updateTimeLimit();
+        }
     }
 }
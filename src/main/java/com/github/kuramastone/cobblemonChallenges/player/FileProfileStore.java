@@ -0,0 +1,127 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.utils.FileUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Stores each profile in its own file, sharded into subdirectories by the first two characters of the uuid:
+ * {@code player-data/ab/ab12cd34-....dat}
+ * <p>
+ * Profiles are written in the {@link ProfileCodec} binary format. Profiles saved as yaml before that format existed
+ * are still read, and replaced the next time they are saved.
+ */
+public class FileProfileStore implements ProfileStore {
+
+    private static final String EXTENSION = ".dat";
+    private static final String YAML_EXTENSION = ".yml";
+
+    private final File folder;
+
+    public FileProfileStore(File dataFolder) {
+        this.folder = new File(dataFolder, "player-data");
+    }
+
+    public File getFolder() {
+        return folder;
+    }
+
+    public File getFile(UUID uuid) {
+        return getFile(uuid, EXTENSION);
+    }
+
+    private File getYamlFile(UUID uuid) {
+        return getFile(uuid, YAML_EXTENSION);
+    }
+
+    private File getFile(UUID uuid, String extension) {
+        String name = uuid.toString();
+        return new File(new File(folder, name.substring(0, 2)), name + extension);
+    }
+
+    @Override
+    public boolean exists(UUID uuid) {
+        return getFile(uuid).isFile() || getYamlFile(uuid).isFile();
+    }
+
+    /**
+     * @return Uuids of every stored profile. Files with a name that isn't a uuid are ignored.
+     */
+    @Override
+    public List<UUID> listProfiles() {
+        Set<UUID> uuids = new LinkedHashSet<>();
+        File[] shards = folder.listFiles(File::isDirectory);
+        if (shards == null) {
+            return new ArrayList<>(uuids);
+        }
+
+        for (File shard : shards) {
+            File[] files = shard.listFiles((dir, name) -> name.endsWith(EXTENSION) || name.endsWith(YAML_EXTENSION));
+            if (files == null) {
+                continue;
+            }
+
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    uuids.add(UUID.fromString(name.substring(0, name.lastIndexOf('.'))));
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        }
+        return new ArrayList<>(uuids);
+    }
+
+    @Override
+    public @Nullable YamlConfig load(UUID uuid) throws IOException {
+        File file = getFile(uuid);
+        if (file.isFile()) {
+            return ProfileCodec.decode(Files.readAllBytes(file.toPath()));
+        }
+
+        File yamlFile = getYamlFile(uuid);
+        if (yamlFile.isFile()) {
+            return new YamlConfig(yamlFile.getParentFile(), yamlFile.getName());
+        }
+        return null;
+    }
+
+    /**
+     * Each profile is written to its own file. A profile that fails to write doesn't stop the others, but the failure
+     * is rethrown once all have been attempted.
+     */
+    @Override
+    public long save(Map<UUID, YamlConfig> profiles) throws IOException {
+        long bytes = 0;
+        IOException failure = null;
+        for (Map.Entry<UUID, YamlConfig> entry : profiles.entrySet()) {
+            try {
+                bytes += FileUtils.writeAtomically(ProfileCodec.encode(entry.getValue()), getFile(entry.getKey()));
+                Files.deleteIfExists(getYamlFile(entry.getKey()).toPath());
+            } catch (IOException e) {
+                CobbleChallengeMod.logger.error("Error saving player profile: {}", entry.getKey());
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return bytes;
+    }
+}
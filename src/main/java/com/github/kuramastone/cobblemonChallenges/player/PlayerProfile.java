@@ -4,10 +4,16 @@ import com.cobblemon.mod.common.Cobblemon;
 import com.github.kuramastone.bUtilities.ComponentEditor;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeAPI;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.AlwaysActiveIndex;
 import com.github.kuramastone.cobblemonChallenges.challenges.Challenge;
+import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeCatalog;
 import com.github.kuramastone.cobblemonChallenges.challenges.ChallengeList;
 import com.github.kuramastone.cobblemonChallenges.challenges.CompletedChallenge;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.EventContext;
+import com.github.kuramastone.cobblemonChallenges.challenges.requirements.Progression;
 import com.github.kuramastone.cobblemonChallenges.challenges.reward.Reward;
+import com.github.kuramastone.cobblemonChallenges.events.PlayTimeScheduler;
+import com.github.kuramastone.cobblemonChallenges.events.Played1SecondEvent;
 import com.github.kuramastone.cobblemonChallenges.utils.FabricAdapter;
 import com.github.kuramastone.cobblemonChallenges.utils.StringUtils;
 import net.kyori.adventure.text.Component;
@@ -18,7 +24,14 @@ import org.apache.logging.log4j.core.appender.rewrite.RewriteAppender;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A player's challenge progress. Everything mutable here is owned by the server thread: changes made from other threads
+ * go through {@link #submit}, and other threads only read the immutable snapshots returned by the getters.
+ */
 public class PlayerProfile {
 
     private CobbleChallengeAPI api;
@@ -26,29 +39,166 @@ public class PlayerProfile {
     private UUID uuid;
 
     private @Nullable ServerPlayer playerEntity;
-    private Map<String, List<ChallengeProgress>> activeChallenges; // active challenges per list
-    private List<CompletedChallenge> completedChallenges;
-    private List<Reward> rewardsToGive;
+    private final Map<String, List<ChallengeProgress>> activeChallenges = new HashMap<>(); // active challenges per list
+    // every active challenge, and the same indexed by challenge id. kept alongside activeChallenges
+    private final Set<ChallengeProgress> activeSet = new LinkedHashSet<>();
+    private ChallengeProgress[] progressById = new ChallengeProgress[0];
+    private volatile ActiveSnapshot activeSnapshot = ActiveSnapshot.EMPTY; // republished whenever the above change
+    private Set<Class<?>> implicitTypes = Set.of(); // event types registered for implicit always-active challenges
+    private volatile List<CompletedChallenge> completedChallenges = List.of(); // replaced, never modified
+    // completion lookups by challenge id, see ChallengeIdTable. completedChallenges stays the saved form.
+    private final BitSet completedIds = new BitSet();
+    private long[] completionTimes = new long[0];
+    private final List<Reward> rewardsToGive = new ArrayList<>();
+    // progressions of active challenges, indexed by the event type they consume
+    private final Map<Class<?>, TrackedProgression[]> progressionIndex = new HashMap<>();
+    // changes submitted from other threads, applied in order on the server thread
+    private final Queue<Runnable> mutations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private boolean draining; // whether the server thread is applying queued changes
+    private volatile long sessionStart = -1; // time the player joined, or -1 while offline
+    private final AtomicLong version = new AtomicLong(); // incremented whenever saved data changes
+    private volatile long savedVersion; // version that was last written to file
+    private volatile long lastAccess = System.currentTimeMillis(); // last time this profile was looked up
 
     public PlayerProfile(CobbleChallengeAPI api, UUID uuid) {
         this.api = api;
         this.uuid = uuid;
 
-        activeChallenges = Collections.synchronizedMap(new HashMap<>());
-        completedChallenges = Collections.synchronizedList(new ArrayList<>());
-        rewardsToGive = Collections.synchronizedList(new ArrayList<>());
-
         server = CobbleChallengeMod.getMinecraftServer();
         syncPlayer(); // try syncing player object
     }
 
+    /**
+     * Apply a change to this profile on the server thread. It runs immediately if called there with nothing queued, or
+     * from within a queued change, otherwise it is queued behind earlier changes.
+     */
+    public void submit(Runnable mutation) {
+        if (server == null || (server.isSameThread() && (draining || mutations.isEmpty()))) {
+            mutation.run();
+            return;
+        }
+
+        mutations.add(mutation);
+        if (drainScheduled.compareAndSet(false, true)) {
+            server.execute(this::drainMutations);
+        }
+    }
+
+    private void drainMutations() {
+        // cleared first, so changes queued while draining schedule another drain instead of being missed
+        drainScheduled.set(false);
+        draining = true;
+        try {
+            Runnable mutation;
+            while ((mutation = mutations.poll()) != null) {
+                try {
+                    mutation.run();
+                } catch (Exception e) {
+                    CobbleChallengeMod.logger.error("Failed to apply a change to player profile {}.", uuid);
+                    e.printStackTrace();
+                }
+            }
+        } finally {
+            draining = false;
+        }
+    }
+
     public boolean isOnline() {
         syncPlayer();
         return playerEntity != null;
     }
 
+    /**
+     * @return The time this player's current session started, or -1 if they are offline
+     */
+    public long getSessionStart() {
+        return sessionStart;
+    }
+
+    public void startSession() {
+        this.sessionStart = System.currentTimeMillis();
+    }
+
+    public void endSession() {
+        this.sessionStart = -1;
+    }
+
     public void setCompletedChallenges(List<CompletedChallenge> completedChallenges) {
-        this.completedChallenges = completedChallenges;
+        this.completedChallenges = List.copyOf(completedChallenges);
+        completedIds.clear();
+        for (CompletedChallenge data : completedChallenges) {
+            indexCompletion(data);
+        }
+        markDirty();
+    }
+
+    private void indexCompletion(CompletedChallenge data) {
+        int id = api.getChallengeIds().idOf(data.challengeID());
+        if (id >= completionTimes.length) {
+            completionTimes = Arrays.copyOf(completionTimes, Math.max(id + 1, completionTimes.length * 2));
+        }
+        completedIds.set(id);
+        completionTimes[id] = data.timeCompleted();
+    }
+
+    /**
+     * Flag this profile as changed since it was last saved
+     */
+    public void markDirty() {
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return True if this profile has changed since it was last saved. Time played accrues without events, so online
+     * players with a playtime requirement always count as changed.
+     */
+    public boolean isDirty() {
+        return version.get() != savedVersion || (sessionStart >= 0 && progressionIndex.containsKey(Played1SecondEvent.class));
+    }
+
+    /**
+     * @return The current version of this profile's saved data. Pass it to {@link #markSaved} once it is written.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Record that the data as of this version has been written. Changes made while it was being written keep the
+     * profile dirty.
+     */
+    public void markSaved(long version) {
+        this.savedVersion = version;
+    }
+
+    /**
+     * Record that this profile was just used, keeping it cached while its player is offline
+     */
+    public void touch() {
+        this.lastAccess = System.currentTimeMillis();
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Release everything scheduled or indexed for this profile so it can be dropped from memory. The saved data is
+     * left untouched.
+     */
+    public void unload() {
+        for (ChallengeProgress cp : activeSet) {
+            untrackProgress(cp);
+        }
+        for (CompletedChallenge data : completedChallenges) {
+            api.getRepeatableCooldowns().cancel(new RepeatableCooldown(uuid, data));
+        }
+        for (Class<?> type : implicitTypes) {
+            api.getInterestRegistry().unregister(type, uuid);
+        }
+        implicitTypes = Set.of();
+        PlayTimeScheduler.reschedule(this);
     }
 
     public void syncPlayer() {
@@ -59,56 +209,249 @@ public class PlayerProfile {
         return uuid;
     }
 
-    public Set<ChallengeProgress> getActiveChallenges() {
-        Set<ChallengeProgress> set = new HashSet<>();
+    /**
+     * @return An immutable snapshot of every active challenge. The profile may be changed while iterating it.
+     */
+    public List<ChallengeProgress> getActiveChallenges() {
+        return activeSnapshot.all();
+    }
 
-        for (List<ChallengeProgress> value : activeChallenges.values()) {
-            set.addAll(value);
+    /**
+     * @return An immutable snapshot of the active challenges in each list
+     */
+    public Map<String, List<ChallengeProgress>> getActiveChallengesMap() {
+        return activeSnapshot.byList();
+    }
+
+    private int getProgressId(ChallengeProgress cp) {
+        int id = cp.getActiveChallenge().getId();
+        return id == -1 ? api.getChallengeIds().idOf(cp.getActiveChallenge().getName()) : id;
+    }
+
+    private void indexProgress(ChallengeProgress cp) {
+        int id = getProgressId(cp);
+        if (id >= progressById.length) {
+            progressById = Arrays.copyOf(progressById, Math.max(id + 1, progressById.length * 2));
         }
+        progressById[id] = cp;
+        activeSet.add(cp);
+        publishActive();
+    }
 
-        return set;
+    private void unindexProgress(ChallengeProgress cp) {
+        int id = getProgressId(cp);
+        if (id < progressById.length && progressById[id] == cp) {
+            progressById[id] = null;
+        }
+        activeSet.remove(cp);
+        publishActive();
     }
 
-    public Map<String, List<ChallengeProgress>> getActiveChallengesMap() {
-        return activeChallenges;
+    /**
+     * Replace the snapshot read by other threads after active challenges were added or removed
+     */
+    private void publishActive() {
+        Map<String, List<ChallengeProgress>> byList = new HashMap<>();
+        activeChallenges.forEach((listName, progress) -> byList.put(listName, List.copyOf(progress)));
+        activeSnapshot = new ActiveSnapshot(Collections.unmodifiableMap(byList), List.copyOf(activeSet));
     }
 
     /**
-     * Challenges that dont require selection are added to player's progression if they dont exist
+     * Pass an event to the progressions that are able to consume it. Events are matched against the type of each
+     * progression, including the superclasses of the event.
      */
-    public void addUnrestrictedChallenges() {
+    public void progressEvent(Object event) {
+        EventContext context = new EventContext(this);
+        AlwaysActiveIndex alwaysActive = api.getAlwaysActiveIndex();
+        for (Class<?> type = event.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            TrackedProgression[] tracked = progressionIndex.get(type);
+            if (tracked != null) {
+                // the array is replaced rather than modified, so completing a challenge mid-loop is safe
+                for (TrackedProgression entry : tracked) {
+                    entry.challengeProgress().progress(entry.index(), event, context);
+                }
+            }
 
-        for (ChallengeList challengeList : new ArrayList<>(api.getChallengeLists())) {
-            for (Challenge challenge : new ArrayList<>(challengeList.getChallengeMap())) {
-                if (!challenge.doesNeedSelection()) {
-                    // Always-active challenges should be added if not completed or if repeatable and cooldown expired
-                    boolean shouldAdd = false;
-                    
-                    if (!isChallengeCompleted(challenge.getName()) && !isChallengeInProgress(challenge.getName())) {
-                        shouldAdd = true;
-                    } else if (challenge.isRepeatable() && !isChallengeInProgress(challenge.getName())) {
-                        // Check if the challenge cooldown has expired for repeatable always-active challenges
-                        CompletedChallenge completedChallenge = getCompletedChallenge(challenge.getName());
-                        if (completedChallenge != null) {
-                            long timeSinceCompleted = System.currentTimeMillis() - completedChallenge.timeCompleted();
-                            if (timeSinceCompleted >= challenge.getRepeatableEveryMilliseconds()) {
-                                shouldAdd = true;
-                            }
-                        }
-                    }
-                    
-                    if (shouldAdd) {
-                        // CobbleChallengeMod.logger.debug("Adding always-active challenge: {} to list: {}", challenge.getName(), challengeList.getName());
-                        addActiveChallenge(challengeList, challenge);
-                    } else {
-                        // CobbleChallengeMod.logger.debug("Skipping always-active challenge: {} (completed: {}, inProgress: {})", 
-// challenge.getName(), isChallengeCompleted(challenge.getName()), isChallengeInProgress(challenge.getName()));
+            for (AlwaysActiveIndex.Entry entry : alwaysActive.get(type)) {
+                if (isImplicitlyActive(entry.challenge())) {
+                    progressImplicit(entry, type, event, context);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Progressions of active challenges that consume exactly this event type
+     */
+    public TrackedProgression[] getTrackedProgressions(Class<?> eventType) {
+        TrackedProgression[] tracked = progressionIndex.get(eventType);
+        return tracked == null ? new TrackedProgression[0] : tracked;
+    }
+
+    /**
+     * Add the progressions of this challenge to the event index
+     */
+    private void trackProgress(ChallengeProgress cp) {
+        if (cp.isTracked()) {
+            return;
+        }
+        cp.setTracked(true);
+
+        boolean schedulePlayTime = false;
+        for (int index = 0; index < cp.getRequirementCount(); index++) {
+            Class<?> eventType = cp.getEventType(index);
+            TrackedProgression[] entry = {new TrackedProgression(cp, index)};
+            progressionIndex.compute(eventType, (type, tracked) -> {
+                if (tracked == null) {
+                    api.getInterestRegistry().register(type, uuid);
+                    return entry;
+                }
+                return concat(tracked, entry);
+            });
+
+            if (eventType == Played1SecondEvent.class) {
+                schedulePlayTime = true;
+            }
+        }
+
+        if (schedulePlayTime) {
+            PlayTimeScheduler.reschedule(this);
+        }
+    }
+
+    /**
+     * Remove the progressions of this challenge from the event index
+     */
+    private void untrackProgress(ChallengeProgress cp) {
+        if (!cp.isTracked()) {
+            return;
+        }
+        cp.setTracked(false);
+
+        for (int index = 0; index < cp.getRequirementCount(); index++) {
+            progressionIndex.computeIfPresent(cp.getEventType(index), (type, tracked) -> {
+                TrackedProgression[] remaining = Arrays.stream(tracked)
+                        .filter(it -> it.challengeProgress() != cp)
+                        .toArray(TrackedProgression[]::new);
+                if (remaining.length == 0) {
+                    // implicit challenges still need events of this type
+                    if (!implicitTypes.contains(type)) {
+                        api.getInterestRegistry().unregister(type, uuid);
                     }
+                    return null;
                 }
+                return remaining;
+            });
+        }
+    }
+
+    /**
+     * Untrack progress that was removed from its list, recording the removal in the journal
+     */
+    private void dropProgress(ChallengeProgress cp) {
+        unindexProgress(cp);
+        untrackProgress(cp);
+        api.getJournal().recordRemove(uuid, cp.getParentList().getName(), cp.getActiveChallenge().getName());
+    }
+
+    private static TrackedProgression[] concat(TrackedProgression[] a, TrackedProgression[] b) {
+        TrackedProgression[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * Move active challenges onto a reloaded catalog. Challenges that no longer exist are dropped.
+     */
+    public void rebindChallenges(ChallengeCatalog catalog) {
+        for (ChallengeProgress cp : getActiveChallenges()) {
+            ChallengeList list = catalog.getList(cp.getParentList().getName());
+            Challenge challenge = list == null ? null : list.getChallenge(cp.getActiveChallenge().getName());
+            if (challenge == null) {
+                removeActiveChallenge(cp);
+                continue;
             }
+
+            untrackProgress(cp);
+            cp.rebind(list, challenge);
+            trackProgress(cp);
+        }
+
+        scheduleRepeatableCooldowns();
+        addUnrestrictedChallenges();
+    }
+
+    /**
+     * Challenges that dont require selection are held implicitly with zero progress. Events they consume are routed to
+     * this profile, and their progress is only created once an event advances them, see {@link #progressEvent}.
+     */
+    public void addUnrestrictedChallenges() {
+        AlwaysActiveIndex index = api.getAlwaysActiveIndex();
+        registerImplicitInterest(index);
+
+        for (AlwaysActiveIndex.Entry entry : index.getEagerChallenges()) {
+            if (isImplicitlyActive(entry.challenge())) {
+                addActiveChallenge(entry.list(), entry.challenge());
+            }
+        }
+
+        for (ChallengeList challengeList : api.getChallengeLists()) {
             checkCompletion(challengeList);
         }
+    }
+
+    /**
+     * @return True if this always-active challenge should be active but has no progress yet
+     */
+    private boolean isImplicitlyActive(Challenge challenge) {
+        if (challenge.doesNeedSelection() || isChallengeInProgress(challenge)) {
+            return false;
+        }
+
+        // completed challenges become active again once their repeat cooldown has passed
+        long timeCompleted = getCompletionTime(challenge);
+        return timeCompleted == -1 || (challenge.isRepeatable()
+                && System.currentTimeMillis() - timeCompleted >= challenge.getRepeatableEveryMilliseconds());
+    }
+
+    /**
+     * Register interest in the event types of implicit challenges. Only changes anything after challenges reload.
+     */
+    private void registerImplicitInterest(AlwaysActiveIndex index) {
+        Set<Class<?>> types = index.getEventTypes();
+        if (types == implicitTypes) {
+            return;
+        }
+
+        for (Class<?> type : implicitTypes) {
+            if (!types.contains(type) && !progressionIndex.containsKey(type)) {
+                api.getInterestRegistry().unregister(type, uuid);
+            }
+        }
+        for (Class<?> type : types) {
+            api.getInterestRegistry().register(type, uuid);
+        }
+        implicitTypes = types;
+    }
+
+    /**
+     * Try an event on an implicit challenge's requirement. Its progress is only created if the event advances it.
+     */
+    private void progressImplicit(AlwaysActiveIndex.Entry entry, Class<?> type, Object event, EventContext context) {
+        if (entry.requirement().countOf(event, context) <= 0) {
+            return;
+        }
 
+        addActiveChallenge(entry.list(), entry.challenge());
+        ChallengeProgress cp = getActiveChallengeProgress(entry.challenge());
+        if (cp == null) {
+            return; // no room left in its list
+        }
+        for (int index = 0; index < cp.getRequirementCount(); index++) {
+            if (cp.getEventType(index) == type) {
+                cp.progress(index, event, context);
+            }
+        }
     }
 
     public void addActiveChallenge(ChallengeList list, Challenge challenge) {
@@ -136,7 +479,7 @@ public class PlayerProfile {
                     if (!existing.getActiveChallenge().doesNeedSelection()) {
                         // CobbleChallengeMod.logger.info("Removing always-active challenge '{}' to make room for selected challenge '{}'", 
 // existing.getActiveChallenge().getName(), challenge.getName());
-                        progressInList.remove(i);
+                        dropProgress(progressInList.remove(i));
                         removedAlwaysActive = true;
                         break;
                     }
@@ -145,7 +488,7 @@ public class PlayerProfile {
                 // If no always-active to remove, remove oldest selected challenge
                 if (!removedAlwaysActive && progressInList.size() >= list.getMaxChallengesPerPlayer()) {
                     // CobbleChallengeMod.logger.info("Removing oldest selected challenge to make room for new selected challenge '{}'", challenge.getName());
-                    progressInList.removeFirst();
+                    dropProgress(progressInList.removeFirst());
                 }
             } else {
                 // If adding always-active, don't remove selected challenges - just skip
@@ -153,15 +496,19 @@ public class PlayerProfile {
                     // CobbleChallengeMod.logger.info("Skipping always-active challenge '{}' - player has selected challenges in this category", challenge.getName());
                     return;
                 } else {
-                    // Only remove always-active if no selected challenges
-                    // CobbleChallengeMod.logger.info("Removing always-active challenge to make room for new always-active '{}'", challenge.getName());
-                    progressInList.removeFirst();
+                    // always-active challenges are created as they make progress, so evicting one here would drop its
+                    // progress only for it to come back on its next event. the new one waits until there is room
+                    return;
                 }
             }
         }
 
         ChallengeProgress newProgress = list.buildNewProgressForQuest(challenge, this);
         progressInList.add(newProgress);
+        indexProgress(newProgress);
+        trackProgress(newProgress);
+        markDirty();
+        api.getJournal().recordStart(uuid, list.getName(), challenge.getName(), newProgress.getStartTime());
         
         // CobbleChallengeMod.logger.debug("Successfully added challenge '{}' to active challenges. Total active: {}", 
 // challenge.getName(), getActiveChallenges().size());
@@ -191,8 +538,12 @@ public class PlayerProfile {
     public void addActiveChallenge(ChallengeProgress cp) {
         List<ChallengeProgress> progressInList = this.activeChallenges.computeIfAbsent(cp.getParentList().getName(), (key) -> new ArrayList<>());
         // only add if they dont have it already
-        if (progressInList.stream().noneMatch(it -> it.getActiveChallenge().getName().equalsIgnoreCase(cp.getActiveChallenge().getName())))
+        if (progressInList.stream().noneMatch(it -> it.getActiveChallenge().getName().equalsIgnoreCase(cp.getActiveChallenge().getName()))) {
             progressInList.add(cp);
+            indexProgress(cp);
+            trackProgress(cp);
+            markDirty();
+        }
     }
 
     public ServerPlayer getPlayerEntity() {
@@ -203,13 +554,16 @@ public class PlayerProfile {
         return playerEntity;
     }
 
+    /**
+     * @return A copy of the rewards waiting for this player to come online
+     */
     public List<Reward> getRewardsToGive() {
-        return rewardsToGive;
+        return List.copyOf(rewardsToGive);
     }
 
     public void completeChallenge(ChallengeList list, Challenge challenge) {
         //double check that it isnt already completed
-        if (isChallengeCompleted(challenge.getName()))
+        if (isChallengeCompleted(challenge))
             return;
 
         rewardsToGive.addAll(challenge.getRewards());
@@ -278,6 +632,10 @@ public class PlayerProfile {
         List<ChallengeProgress> progressList = activeChallenges.get(listName);
         if (progressList != null) {
             boolean removed = progressList.remove(challengeProgress);
+            if (removed) {
+                dropProgress(challengeProgress);
+                markDirty();
+            }
             // CobbleChallengeMod.logger.warn("Challenge removal result: {} - Remaining challenges in list: {}", 
 // removed, progressList.size());
         } else {
@@ -286,15 +644,27 @@ public class PlayerProfile {
     }
 
     public boolean isChallengeCompleted(String challengeID) {
-        for (CompletedChallenge completedChallenge : this.completedChallenges) {
-            if (completedChallenge.challengeID().equalsIgnoreCase(challengeID)) {
-                return true;
-            }
-        }
-        return false;
+        int id = api.getChallengeIds().find(challengeID);
+        return id != -1 && completedIds.get(id);
+    }
+
+    public boolean isChallengeCompleted(Challenge challenge) {
+        int id = challenge.getId();
+        return id == -1 ? isChallengeCompleted(challenge.getName()) : completedIds.get(id);
+    }
+
+    /**
+     * @return The last time this challenge was completed, or -1 if it isn't completed
+     */
+    public long getCompletionTime(Challenge challenge) {
+        int id = challenge.getId() == -1 ? api.getChallengeIds().find(challenge.getName()) : challenge.getId();
+        return id != -1 && completedIds.get(id) ? completionTimes[id] : -1;
     }
 
     public CompletedChallenge getCompletedChallenge(String challengeID) {
+        if (!isChallengeCompleted(challengeID)) {
+            return null;
+        }
         for (CompletedChallenge completedChallenge : this.completedChallenges) {
             if (completedChallenge.challengeID().equalsIgnoreCase(challengeID)) {
                 return completedChallenge;
@@ -304,110 +674,164 @@ public class PlayerProfile {
     }
 
     public void addCompletedChallenge(ChallengeList list, Challenge challenge) {
-        if (!isChallengeCompleted(challenge.getName())) {
-            completedChallenges.add(new CompletedChallenge(list.getName(), challenge.getName(), System.currentTimeMillis()));
+        if (!isChallengeCompleted(challenge)) {
+            CompletedChallenge data = new CompletedChallenge(list.getName(), challenge.getName(), System.currentTimeMillis());
+            List<CompletedChallenge> completed = new ArrayList<>(completedChallenges);
+            completed.add(data);
+            completedChallenges = List.copyOf(completed);
+            indexCompletion(data);
+            scheduleCooldown(data);
+            markDirty();
+            api.getJournal().recordComplete(uuid, data);
         }
     }
 
     public boolean isChallengeInProgress(String challengeName) {
-        ChallengeProgress progress = getActiveChallengeProgress(challengeName);
-        boolean inProgress = progress != null;
-        
-        // CobbleChallengeMod.logger.info("Challenge '{}' in progress check for player {}: {} (total active: {})", 
-// challengeName, getUUID(), inProgress, getActiveChallenges().size());
-        
-        return inProgress;
+        return getActiveChallengeProgress(challengeName) != null;
     }
 
-    public ChallengeProgress getActiveChallengeProgress(String challengeName) {
-        for (ChallengeProgress challenge : getActiveChallenges()) {
-            if (challenge.getActiveChallenge().getName().equals(challengeName)) {
-                return challenge;
-            }
-        }
-        return null;
+    public boolean isChallengeInProgress(Challenge challenge) {
+        return getActiveChallengeProgress(challenge) != null;
+    }
+
+    public @Nullable ChallengeProgress getActiveChallengeProgress(String challengeName) {
+        return getActiveChallengeProgress(api.getChallengeIds().find(challengeName));
+    }
+
+    public @Nullable ChallengeProgress getActiveChallengeProgress(Challenge challenge) {
+        int id = challenge.getId();
+        return getActiveChallengeProgress(id == -1 ? api.getChallengeIds().find(challenge.getName()) : id);
+    }
+
+    private @Nullable ChallengeProgress getActiveChallengeProgress(int id) {
+        return id >= 0 && id < progressById.length ? progressById[id] : null;
     }
 
+    /**
+     * @return An immutable snapshot of the completed challenges
+     */
     public List<CompletedChallenge> getCompletedChallenges() {
         return completedChallenges;
     }
 
-    private volatile boolean isCheckingCompletion = false; // Prevent infinite loops
-    
+    /**
+     * Progress the always-active challenges of this list, completing those whose requirements are already met. Like
+     * every change to a profile, this runs on the server thread only.
+     */
     public void checkCompletion(ChallengeList challengeList) {
-        // Prevent recursive calls that cause infinite loops
-        if (isCheckingCompletion) {
-            // CobbleChallengeMod.logger.debug("checkCompletion already in progress for list '{}' - skipping to prevent infinite loop", challengeList.getName());
-            return;
-        }
-        
-        try {
-            isCheckingCompletion = true;
-            
-            List<ChallengeProgress> progressInList = this.activeChallenges.computeIfAbsent(challengeList.getName(), (key) -> new ArrayList<>());
-            // CobbleChallengeMod.logger.debug("checkCompletion for list '{}' - Processing {} challenges for player {}", 
-// challengeList.getName(), progressInList.size(), getUUID());
-                
-            // Only auto-progress always-active challenges (those that don't need selection)
-            for (ChallengeProgress cp : new ArrayList<>(progressInList)) {
-                Challenge challenge = cp.getActiveChallenge();
-                // CobbleChallengeMod.logger.debug("Checking completion for challenge: '{}' - needsSelection: {}", 
-// challenge.getName(), challenge.doesNeedSelection());
-                    
-                // Only auto-progress challenges that don't need selection (always-active challenges)
-                if (!challenge.doesNeedSelection()) {
-                    // CobbleChallengeMod.logger.debug("Auto-progressing always-active challenge: '{}'", challenge.getName());
-                    
-                    // Check if challenge is already completed to prevent unnecessary processing
-                    if (cp.isCompleted()) {
-                        // CobbleChallengeMod.logger.debug("Challenge '{}' already completed - triggering completion", challenge.getName());
-                        cp.completedActiveChallenge();
-                    } else {
-                        cp.progress(null);
-                    }
-                } else {
-                    // CobbleChallengeMod.logger.debug("Skipping auto-progress for selection-based challenge: '{}' - player must complete manually", challenge.getName());
-                }
+        // completing a challenge removes it from the live list, so walk a copy
+        List<ChallengeProgress> progressInList = List.copyOf(getActiveChallengesMap().getOrDefault(challengeList.getName(), List.of()));
+        for (ChallengeProgress cp : progressInList) {
+            // challenges that need selection are only completed by the player
+            if (cp.getActiveChallenge() == null || cp.getActiveChallenge().doesNeedSelection() || !activeSet.contains(cp)) {
+                continue;
+            }
+
+            if (cp.isCompleted()) {
+                cp.completedActiveChallenge();
+            }
+            else {
+                cp.progress(null);
             }
-            
-            // CobbleChallengeMod.logger.debug("checkCompletion COMPLETE for list '{}' - Remaining challenges: {}", 
-// challengeList.getName(), progressInList.size());
-                
-        } finally {
-            isCheckingCompletion = false;
         }
     }
 
     /**
-     * Remove {@link CompletedChallenge}s if they are repeatable and the repeat time has been reached
+     * Queue the cooldowns of every completed repeatable challenge. Used after completed challenges are loaded.
      */
-    public void refreshRepeatableChallenges() {
-        for (CompletedChallenge data : new ArrayList<>(completedChallenges)) {
-            ChallengeList challengeList = api.getChallengeList(data.challengeListID());
-            if (challengeList != null) {
-                Challenge challenge = challengeList.getChallenge(data.challengeID());
-                if (challenge != null) {
-                    if (challenge.isRepeatable()) {
-                        long timeSinceCompleted = System.currentTimeMillis() - data.timeCompleted();
-                        if (timeSinceCompleted >= challenge.getRepeatableEveryMilliseconds()) {
-                            completedChallenges.remove(data);
-                        }
-                    }
-                }
-            }
+    public void scheduleRepeatableCooldowns() {
+        for (CompletedChallenge data : completedChallenges) {
+            scheduleCooldown(data);
+        }
+    }
+
+    private void scheduleCooldown(CompletedChallenge data) {
+        Challenge challenge = getRepeatableChallenge(data);
+        if (challenge != null) {
+            api.getRepeatableCooldowns().schedule(new RepeatableCooldown(uuid, data),
+                    data.timeCompleted() + challenge.getRepeatableEveryMilliseconds());
+        }
+    }
 
+    /**
+     * Called when a cooldown is taken off the queue. Makes the challenge available again if it is still completed and
+     * its cooldown has really passed.
+     */
+    public void expireCooldown(CompletedChallenge data) {
+        // the challenge may have been reset or rotated out since this was queued
+        if (!completedChallenges.contains(data)) {
+            return;
         }
+
+        Challenge challenge = getRepeatableChallenge(data);
+        if (challenge == null) {
+            return;
+        }
+
+        // the cooldown may have been lengthened by a reload
+        long deadline = data.timeCompleted() + challenge.getRepeatableEveryMilliseconds();
+        if (deadline > System.currentTimeMillis()) {
+            api.getRepeatableCooldowns().schedule(new RepeatableCooldown(uuid, data), deadline);
+            return;
+        }
+
+        List<CompletedChallenge> completed = new ArrayList<>(completedChallenges);
+        completed.remove(data);
+        completedChallenges = List.copyOf(completed);
+        completedIds.clear(api.getChallengeIds().idOf(data.challengeID()));
+        markDirty();
+        api.getJournal().recordUncomplete(uuid, data.challengeID());
+        // events are only delivered to interested players, so always-active challenges must be re-added here
+        addUnrestrictedChallenges();
+    }
+
+    private @Nullable Challenge getRepeatableChallenge(CompletedChallenge data) {
+        ChallengeList challengeList = api.getChallengeList(data.challengeListID());
+        if (challengeList == null) {
+            return null;
+        }
+        Challenge challenge = challengeList.getChallenge(data.challengeID());
+        return challenge != null && challenge.isRepeatable() ? challenge : null;
     }
 
     public void resetChallenges() {
         resetProgress();
-        completedChallenges.clear();
+        completedChallenges = List.of();
+        completedIds.clear();
         rewardsToGive.clear();
+        markDirty();
+        api.getJournal().recordReset(uuid);
 
         addUnrestrictedChallenges();
     }
 
     private void resetProgress() {
+        for (ChallengeProgress cp : activeSet) {
+            untrackProgress(cp);
+        }
         activeChallenges.clear();
+        activeSet.clear();
+        Arrays.fill(progressById, null);
+        publishActive();
+    }
+
+    /**
+     * Active challenges as last published for readers on any thread
+     */
+    private record ActiveSnapshot(Map<String, List<ChallengeProgress>> byList, List<ChallengeProgress> all) {
+        static final ActiveSnapshot EMPTY = new ActiveSnapshot(Map.of(), List.of());
+    }
+
+    /**
+     * A requirement, by its index, paired with the challenge progress it belongs to
+     */
+    public record TrackedProgression(ChallengeProgress challengeProgress, int index) {
+
+        /**
+         * @return The requirement's progression, or null if it is a counter stored by the challenge progress
+         */
+        public Progression<?> progression() {
+            return challengeProgress.getProgression(index);
+        }
     }
 }
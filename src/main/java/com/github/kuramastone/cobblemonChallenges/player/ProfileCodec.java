@@ -0,0 +1,217 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary format for saved profiles. It holds the same tree that is written to yaml, so profiles can be converted to
+ * and from yaml for inspection.
+ * <p>
+ * Layout: magic, format version, a dictionary of every key and string value, then the root map. Strings are written
+ * as their dictionary index, and whole numbers as varints.
+ */
+public class ProfileCodec {
+
+    private static final int MAGIC = 0x43435046; // "CCPF"
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte TAG_MAP = 0;
+    private static final byte TAG_INT = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_DOUBLE = 3;
+    private static final byte TAG_STRING = 4;
+    private static final byte TAG_TRUE = 5;
+    private static final byte TAG_FALSE = 6;
+    private static final byte TAG_LIST = 7;
+    private static final byte TAG_NULL = 8;
+
+    private static final int MAX_DEPTH = 64; // profiles nest a handful of levels, so deeper data is corrupt
+
+    public static byte[] encode(YamlConfig data) throws IOException {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        writeMap(new DataOutputStream(body), data.getYamlMap(), dictionary);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.size() + dictionary.size() * 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        writeVarInt(out, FORMAT_VERSION);
+        writeVarInt(out, dictionary.size());
+        for (String string : dictionary.keySet()) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, utf8.length);
+            out.write(utf8);
+        }
+        body.writeTo(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static YamlConfig decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a profile file");
+        }
+        int version = readVarInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported profile format version " + version);
+        }
+
+        String[] dictionary = new String[readCount(in)];
+        for (int i = 0; i < dictionary.length; i++) {
+            byte[] utf8 = new byte[readCount(in)];
+            in.readFully(utf8);
+            dictionary[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        return YamlConfig.direct(readMap(in, dictionary, 0));
+    }
+
+    private static void writeMap(DataOutputStream out, Map<?, ?> map, Map<String, Integer> dictionary) throws IOException {
+        writeVarInt(out, map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeVarInt(out, intern(String.valueOf(entry.getKey()), dictionary));
+            writeValue(out, entry.getValue(), dictionary);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value, Map<String, Integer> dictionary) throws IOException {
+        if (value == null) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, map, dictionary);
+        } else if (value instanceof YamlConfig section) {
+            out.writeByte(TAG_MAP);
+            writeMap(out, section.getYamlMap(), dictionary);
+        } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_INT);
+            writeVarLong(out, zigzag(((Number) value).longValue()));
+        } else if (value instanceof Long l) {
+            out.writeByte(TAG_LONG);
+            writeVarLong(out, zigzag(l));
+        } else if (value instanceof Number number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(number.doubleValue());
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(TAG_LIST);
+            writeVarInt(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element, dictionary);
+            }
+        } else {
+            out.writeByte(TAG_STRING);
+            writeVarInt(out, intern(value.toString(), dictionary));
+        }
+    }
+
+    private static LinkedHashMap<String, Object> readMap(DataInputStream in, String[] dictionary, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("Corrupt profile: nested deeper than " + MAX_DEPTH);
+        }
+        int size = readCount(in);
+        LinkedHashMap<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in, dictionary);
+            map.put(key, readValue(in, dictionary, depth));
+        }
+        return map;
+    }
+
+    private static Object readValue(DataInputStream in, String[] dictionary, int depth) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_MAP -> readMap(in, dictionary, depth + 1);
+            case TAG_INT -> (int) unzigzag(readVarLong(in));
+            case TAG_LONG -> unzigzag(readVarLong(in));
+            case TAG_DOUBLE -> in.readDouble();
+            case TAG_STRING -> readString(in, dictionary);
+            case TAG_TRUE -> true;
+            case TAG_FALSE -> false;
+            case TAG_LIST -> {
+                if (depth >= MAX_DEPTH) {
+                    throw new IOException("Corrupt profile: nested deeper than " + MAX_DEPTH);
+                }
+                int size = readCount(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, dictionary, depth + 1));
+                }
+                yield list;
+            }
+            case TAG_NULL -> null;
+            default -> throw new IOException("Unknown value tag " + tag);
+        };
+    }
+
+    /**
+     * Read a length or entry count. Every entry takes at least one byte, so a count larger than what is left is corrupt.
+     */
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = readVarInt(in);
+        if (count < 0 || count > in.available()) {
+            throw new IOException("Corrupt profile: count " + count + " with " + in.available() + " bytes left");
+        }
+        return count;
+    }
+
+    private static String readString(DataInputStream in, String[] dictionary) throws IOException {
+        int index = readVarInt(in);
+        if (index < 0 || index >= dictionary.length) {
+            throw new IOException("Corrupt profile: string " + index + " is not in the dictionary");
+        }
+        return dictionary[index];
+    }
+
+    private static int intern(String string, Map<String, Integer> dictionary) {
+        return dictionary.computeIfAbsent(string, (key) -> dictionary.size());
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
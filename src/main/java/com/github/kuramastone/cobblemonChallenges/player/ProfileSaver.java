@@ -0,0 +1,204 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.utils.FileUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Writes save snapshots on a dedicated thread. Snapshots are taken on the server thread, so the writer never reads
+ * live profile state.
+ */
+public class ProfileSaver {
+
+    private final ExecutorService executor;
+    private volatile ProfileStore store;
+    private final AtomicInteger queueDepth = new AtomicInteger(); // snapshots waiting to be written
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong entriesWritten = new AtomicLong();
+    private volatile long lastSaveLatencyMillis; // time from taking the last batch's snapshots until it was written
+
+    public ProfileSaver() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CobblemonChallenges-Saver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public ProfileStore getStore() {
+        return store;
+    }
+
+    public void setStore(ProfileStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Queue a batch of snapshots to be written in order. The profiles in the batch are stored together.
+     *
+     * @return Completes on the saver thread with whether every snapshot was written
+     */
+    public CompletableFuture<Boolean> submit(List<SaveSnapshot> batch) {
+        if (batch.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        long queuedAt = System.nanoTime();
+        queueDepth.addAndGet(batch.size());
+        return CompletableFuture.supplyAsync(() -> {
+            boolean success = true;
+            long bytes = 0;
+            List<SaveSnapshot> profiles = new ArrayList<>();
+            for (SaveSnapshot snapshot : batch) {
+                if (snapshot.profile() != null) {
+                    profiles.add(snapshot);
+                    continue;
+                }
+
+                try {
+                    bytes += write(snapshot);
+                } catch (Exception e) {
+                    success = false;
+                    CobbleChallengeMod.logger.error("Error saving {}", snapshot.file().getName());
+                    e.printStackTrace();
+                } finally {
+                    queueDepth.decrementAndGet();
+                }
+            }
+
+            try {
+                bytes += writeProfiles(profiles);
+            } catch (Exception e) {
+                success = false;
+                CobbleChallengeMod.logger.error("Error saving {} player profiles", profiles.size());
+                e.printStackTrace();
+            } finally {
+                queueDepth.addAndGet(-profiles.size());
+            }
+            lastSaveLatencyMillis = (System.nanoTime() - queuedAt) / 1_000_000;
+
+            if (CobbleChallengeMod.instance.getAPI().getConfigOptions().isDebug()) {
+                CobbleChallengeMod.logger.info("Saved {} entries ({} bytes) in {}ms. {} snapshots still queued.",
+                        batch.size(), bytes, lastSaveLatencyMillis, queueDepth.get());
+            }
+            return success;
+        }, executor);
+    }
+
+    /**
+     * Run a task on the saver thread after everything queued so far
+     */
+    public void execute(Runnable task) {
+        executor.execute(task);
+    }
+
+    /**
+     * Write a snapshot on the saver thread. Its profile is marked saved once it is stored.
+     *
+     * @return Number of bytes written
+     */
+    private long write(SaveSnapshot snapshot) throws IOException {
+        if (snapshot.profile() != null) {
+            return writeProfiles(List.of(snapshot));
+        }
+
+        long bytes = FileUtils.writeAtomically(snapshot.data(), snapshot.file());
+        bytesWritten.addAndGet(bytes);
+        entriesWritten.incrementAndGet();
+        return bytes;
+    }
+
+    private long writeProfiles(List<SaveSnapshot> snapshots) throws IOException {
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, YamlConfig> profiles = new LinkedHashMap<>();
+        for (SaveSnapshot snapshot : snapshots) {
+            profiles.put(snapshot.profile().getUUID(), snapshot.data());
+        }
+
+        long bytes = store.save(profiles);
+        bytesWritten.addAndGet(bytes);
+        entriesWritten.addAndGet(profiles.size());
+        for (SaveSnapshot snapshot : snapshots) {
+            snapshot.profile().markSaved(snapshot.version());
+        }
+        return bytes;
+    }
+
+    /**
+     * Block until everything queued so far has been written
+     */
+    public void flush() {
+        try {
+            executor.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Run a task on the saver thread once everything queued so far has been written
+     */
+    public <T> CompletableFuture<T> supplyAfterPending(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * @return Number of profiles and data files written
+     */
+    public long getEntriesWritten() {
+        return entriesWritten.get();
+    }
+
+    public long getLastSaveLatencyMillis() {
+        return lastSaveLatencyMillis;
+    }
+
+    /**
+     * Data copied from the server thread, ready to be written. Profile data goes to the {@link ProfileStore}, anything
+     * else is written to its file as yaml.
+     *
+     * @param file    The file to write to, or null for profile data
+     * @param profile The profile this data belongs to, or null if it isn't player data
+     * @param version The profile's version when the snapshot was taken
+     */
+    public record SaveSnapshot(@Nullable File file, YamlConfig data, @Nullable PlayerProfile profile, long version) {
+
+        public static SaveSnapshot ofProfile(PlayerProfile profile, long version, YamlConfig data) {
+            return new SaveSnapshot(null, data, profile, version);
+        }
+
+        public static SaveSnapshot ofFile(File file, YamlConfig data) {
+            return new SaveSnapshot(file, data, null, 0);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.utils.FileUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persistent storage for player profiles. Profiles are passed in the same tree that is written as yaml:
+ * <pre>
+ * completed-map:
+ *   &lt;challenge&gt;: {challengeListID, challengeID, timeCompleted}
+ * progression:
+ *   &lt;list&gt;:
+ *     &lt;challenge&gt;:
+ *       startTime: ...
+ *       &lt;index&gt;:
+ *         &lt;requirement&gt;: {progression data}
+ * </pre>
+ * Stores are only written from the saver thread, but may be read from any thread, including several at once while
+ * profiles are preloaded.
+ */
+public interface ProfileStore {
+
+    /**
+     * @return Uuids of every stored profile
+     */
+    List<UUID> listProfiles() throws IOException;
+
+    boolean exists(UUID uuid) throws IOException;
+
+    /**
+     * @return The stored profile, or null if this player has none
+     */
+    @Nullable YamlConfig load(UUID uuid) throws IOException;
+
+    /**
+     * Store these profiles, replacing whatever was stored for them
+     *
+     * @return Number of bytes written
+     */
+    long save(Map<UUID, YamlConfig> profiles) throws IOException;
+
+    /**
+     * @return Players who completed this challenge at or after this time
+     */
+    default List<UUID> findCompleted(String challengeID, long since) throws IOException {
+        List<UUID> players = new ArrayList<>();
+        for (UUID uuid : listProfiles()) {
+            YamlConfig data = load(uuid);
+            if (data != null && data.containsKey("completed-map." + challengeID)
+                    && data.getLong("completed-map.%s.timeCompleted".formatted(challengeID)) >= since) {
+                players.add(uuid);
+            }
+        }
+        return players;
+    }
+
+    default void close() {
+    }
+
+    /**
+     * Write every stored profile as yaml so it can be read by hand
+     *
+     * @return Number of profiles exported
+     */
+    default int exportYaml(File exportFolder) throws IOException {
+        int exported = 0;
+        for (UUID uuid : listProfiles()) {
+            try {
+                YamlConfig data = load(uuid);
+                if (data != null) {
+                    FileUtils.writeAtomically(data, new File(exportFolder, uuid + ".yml"));
+                    exported++;
+                }
+            } catch (Exception e) {
+                CobbleChallengeMod.logger.error("Failed to export cobblemonchallenges player profile: {}", uuid);
+                e.printStackTrace();
+            }
+        }
+        return exported;
+    }
+
+    /**
+     * Store every {@code <uuid>.yml} in this folder as that player's profile, replacing their saved profile. Imported
+     * files are deleted.
+     *
+     * @return Number of profiles imported
+     */
+    default int importYaml(File importFolder) {
+        File[] files = importFolder.listFiles((dir, name) -> name.endsWith(".yml"));
+        if (files == null) {
+            return 0;
+        }
+
+        int imported = 0;
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                UUID uuid = UUID.fromString(name.substring(0, name.length() - ".yml".length()));
+                save(Collections.singletonMap(uuid, new YamlConfig(importFolder, name)));
+                Files.delete(file.toPath());
+                imported++;
+            } catch (Exception e) {
+                CobbleChallengeMod.logger.error("Failed to import cobblemonchallenges player profile: {}", name);
+                e.printStackTrace();
+            }
+        }
+        return imported;
+    }
+}
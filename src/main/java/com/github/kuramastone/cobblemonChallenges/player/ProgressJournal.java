@@ -0,0 +1,398 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import com.github.kuramastone.cobblemonChallenges.challenges.CompletedChallenge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of profile changes made since the last save. Changes are buffered on the server thread and appended
+ * once per tick by the saver thread, so a crash only loses the last tick instead of everything since the last save.
+ * <p>
+ * Each save starts a new segment file. Once a save has stored every changed profile, the segments before it are
+ * covered by the store and deleted. On startup, leftover segments are replayed on top of the stored profiles.
+ */
+public class ProgressJournal {
+
+    private static final byte PROGRESS = 1; // requirement progress changed
+    private static final byte START = 2; // challenge started
+    private static final byte REMOVE = 3; // challenge no longer active
+    private static final byte COMPLETE = 4; // challenge completed
+    private static final byte UNCOMPLETE = 5; // completed challenge can be repeated
+    private static final byte RESET = 6; // all progress and completions cleared
+
+    private final File folder;
+    private final ProfileSaver saver;
+
+    // only used on the server thread
+    private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private DataOutputStream out = new DataOutputStream(buffer);
+    private long segment;
+    private boolean enabled;
+
+    // only used on the saver thread
+    private FileChannel channel;
+    private long channelSegment = -1;
+
+    public ProgressJournal(File dataFolder, ProfileSaver saver) {
+        this.folder = new File(dataFolder, "journal");
+        this.saver = saver;
+        this.segment = System.currentTimeMillis();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Changes are not recorded while disabled, such as while profiles are being loaded
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void recordProgress(UUID uuid, String list, String challenge, int index, String requirement, YamlConfig data) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            byte[] payload = ProfileCodec.encode(data);
+            writeHeader(PROGRESS, uuid);
+            out.writeUTF(list);
+            out.writeUTF(challenge);
+            out.writeInt(index);
+            out.writeUTF(requirement);
+            out.writeInt(payload.length);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordStart(UUID uuid, String list, String challenge, long startTime) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writeHeader(START, uuid);
+            out.writeUTF(list);
+            out.writeUTF(challenge);
+            out.writeLong(startTime);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordRemove(UUID uuid, String list, String challenge) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writeHeader(REMOVE, uuid);
+            out.writeUTF(list);
+            out.writeUTF(challenge);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordComplete(UUID uuid, CompletedChallenge completed) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writeHeader(COMPLETE, uuid);
+            out.writeUTF(completed.challengeListID());
+            out.writeUTF(completed.challengeID());
+            out.writeLong(completed.timeCompleted());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordUncomplete(UUID uuid, String challenge) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writeHeader(UNCOMPLETE, uuid);
+            out.writeUTF(challenge);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void recordReset(UUID uuid) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            writeHeader(RESET, uuid);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeHeader(byte type, UUID uuid) throws IOException {
+        out.writeByte(type);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Hand everything recorded this tick to the saver thread to be appended. Called once at the end of each tick.
+     */
+    public void flush() {
+        if (buffer.size() == 0) {
+            return;
+        }
+
+        byte[] records = buffer.toByteArray();
+        buffer = new ByteArrayOutputStream();
+        out = new DataOutputStream(buffer);
+
+        long target = segment;
+        saver.execute(() -> append(target, records));
+    }
+
+    /**
+     * Start a new segment. Called when profiles are snapshotted for saving.
+     *
+     * @return The previous segment, which is covered once that save succeeds
+     */
+    public long rotate() {
+        flush();
+        return segment++;
+    }
+
+    /**
+     * Delete every segment up to and including this one. Runs on the saver thread after a save succeeds.
+     */
+    public void deleteSegmentsThrough(long last) {
+        if (channelSegment != -1 && channelSegment <= last) {
+            closeChannel();
+        }
+
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".log"));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            Long number = getSegmentNumber(file);
+            if (number != null && number <= last && !file.delete()) {
+                CobbleChallengeMod.logger.error("Unable to delete journal segment {}", file.getName());
+            }
+        }
+    }
+
+    // frame: length, crc32, records
+    private void append(long target, byte[] records) {
+        try {
+            if (channelSegment != target) {
+                closeChannel();
+                folder.mkdirs();
+                channel = FileChannel.open(new File(folder, target + ".log").toPath(),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                channelSegment = target;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(records);
+            ByteBuffer frame = ByteBuffer.allocate(8 + records.length);
+            frame.putInt(records.length);
+            frame.putInt((int) crc.getValue());
+            frame.put(records);
+            frame.flip();
+            while (frame.hasRemaining()) {
+                channel.write(frame);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            CobbleChallengeMod.logger.error("Failed to append to the progress journal.");
+            e.printStackTrace();
+            closeChannel();
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        channel = null;
+        channelSegment = -1;
+    }
+
+    /**
+     * Read every leftover segment in order. A torn frame at the end of a segment, left by a crash mid-write, ends that
+     * segment.
+     *
+     * @return The recorded changes of each player, oldest first
+     */
+    public Map<UUID, List<Entry>> readAll() {
+        Map<UUID, List<Entry>> entries = new HashMap<>();
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(".log"));
+        if (files == null) {
+            return entries;
+        }
+
+        Arrays.sort(files, (a, b) -> Long.compare(getSegmentNumber(a) == null ? -1 : getSegmentNumber(a),
+                getSegmentNumber(b) == null ? -1 : getSegmentNumber(b)));
+        for (File file : files) {
+            if (getSegmentNumber(file) == null) {
+                continue;
+            }
+
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+                while (true) {
+                    if (in.available() < 8) {
+                        break;
+                    }
+                    int length = in.readInt();
+                    int crcValue = in.readInt();
+                    if (length < 0 || length > in.available()) {
+                        break; // torn write
+                    }
+                    byte[] records = new byte[length];
+                    in.readFully(records);
+
+                    CRC32 crc = new CRC32();
+                    crc.update(records);
+                    if ((int) crc.getValue() != crcValue) {
+                        CobbleChallengeMod.logger.error("Journal segment {} has a damaged frame. Later changes in it are skipped.", file.getName());
+                        break;
+                    }
+                    readRecords(records, entries);
+                }
+            } catch (IOException e) {
+                CobbleChallengeMod.logger.error("Failed to read journal segment {}", file.getName());
+                e.printStackTrace();
+            }
+        }
+        return entries;
+    }
+
+    private static void readRecords(byte[] records, Map<UUID, List<Entry>> entries) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(records));
+        while (in.available() > 0) {
+            byte type = in.readByte();
+            UUID uuid = new UUID(in.readLong(), in.readLong());
+            Entry entry = switch (type) {
+                case PROGRESS -> {
+                    String list = in.readUTF();
+                    String challenge = in.readUTF();
+                    int index = in.readInt();
+                    String requirement = in.readUTF();
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    yield new Entry(type, list, challenge, index, requirement, 0, payload);
+                }
+                case START -> new Entry(type, in.readUTF(), in.readUTF(), 0, null, in.readLong(), null);
+                case REMOVE -> new Entry(type, in.readUTF(), in.readUTF(), 0, null, 0, null);
+                case COMPLETE -> new Entry(type, in.readUTF(), in.readUTF(), 0, null, in.readLong(), null);
+                case UNCOMPLETE -> new Entry(type, null, in.readUTF(), 0, null, 0, null);
+                case RESET -> new Entry(type, null, null, 0, null, 0, null);
+                default -> throw new IOException("Unknown journal record " + type);
+            };
+            entries.computeIfAbsent(uuid, (key) -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private static Long getSegmentNumber(File file) {
+        String name = file.getName();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - ".log".length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A single recorded change
+     */
+    public record Entry(byte type, String list, String challenge, int index, String requirement, long time, byte[] payload) {
+
+        /**
+         * Apply this change to a stored profile
+         */
+        public void applyTo(YamlConfig data) throws IOException {
+            Map<String, Object> root = data.getYamlMap();
+            switch (type) {
+                case PROGRESS -> {
+                    Map<String, Object> challengeMap = child(child(child(root, "progression"), list), challenge);
+                    // yaml may have read the index as a number
+                    challengeMap.remove(Integer.valueOf(index));
+                    challengeMap.remove(String.valueOf(index));
+                    Map<String, Object> requirementMap = new LinkedHashMap<>();
+                    requirementMap.put(requirement, ProfileCodec.decode(payload).getYamlMap());
+                    challengeMap.put(String.valueOf(index), requirementMap);
+                }
+                case START -> {
+                    // the stored profile may already hold this attempt and progress made after it
+                    Map<String, Object> listMap = child(child(root, "progression"), list);
+                    if (isSameAttempt(listMap.get(challenge), time)) {
+                        return;
+                    }
+                    Map<String, Object> challengeMap = new LinkedHashMap<>();
+                    challengeMap.put("startTime", time);
+                    listMap.put(challenge, challengeMap);
+                }
+                case REMOVE -> child(child(root, "progression"), list).remove(challenge);
+                case COMPLETE -> {
+                    Map<String, Object> completed = new LinkedHashMap<>();
+                    completed.put("challengeListID", list);
+                    completed.put("challengeID", challenge);
+                    completed.put("timeCompleted", time);
+                    child(root, "completed-map").put(challenge, completed);
+                }
+                case UNCOMPLETE -> child(root, "completed-map").remove(challenge);
+                case RESET -> {
+                    root.remove("progression");
+                    root.remove("completed-map");
+                }
+            }
+        }
+
+        private static boolean isSameAttempt(Object stored, long startTime) {
+            Map<?, ?> map = stored instanceof YamlConfig section ? section.getYamlMap() : stored instanceof Map<?, ?> m ? m : null;
+            return map != null && map.get("startTime") instanceof Number number && number.longValue() == startTime;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> child(Map<String, Object> parent, String key) {
+            Object value = parent.get(key);
+            if (value instanceof YamlConfig section) {
+                return section.getYamlMap();
+            }
+            if (value instanceof Map<?, ?> map) {
+                return (Map<String, Object>) map;
+            }
+
+            Map<String, Object> created = new LinkedHashMap<>();
+            parent.put(key, created);
+            return created;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.cobblemonChallenges.challenges.CompletedChallenge;
+
+import java.util.UUID;
+
+/**
+ * A completed repeatable challenge waiting for its cooldown to end
+ */
+public record RepeatableCooldown(UUID player, CompletedChallenge completed) {
+}
@@ -0,0 +1,334 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Stores profiles in an embedded H2 database. Completed challenges, active challenges and requirement progress each
+ * have their own table keyed by player, so a single player is read with a few index lookups and completions can be
+ * queried without loading any profile. Requirement progress is kept as a {@link ProfileCodec} blob, since each
+ * requirement type saves its own fields.
+ * <p>
+ * Saves use their own connection, and reads take one from a small pool, so loading a profile never waits for a save to
+ * commit.
+ */
+public class SqlProfileStore implements ProfileStore {
+
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS profiles (uuid UUID PRIMARY KEY, updated BIGINT NOT NULL)",
+            "CREATE TABLE IF NOT EXISTS completed_challenges (uuid UUID NOT NULL, challenge_id VARCHAR(255) NOT NULL, "
+                    + "list_id VARCHAR(255) NOT NULL, time_completed BIGINT NOT NULL, PRIMARY KEY (uuid, challenge_id))",
+            "CREATE INDEX IF NOT EXISTS completed_challenges_by_challenge ON completed_challenges (challenge_id, time_completed)",
+            "CREATE TABLE IF NOT EXISTS active_challenges (uuid UUID NOT NULL, list_id VARCHAR(255) NOT NULL, "
+                    + "challenge_id VARCHAR(255) NOT NULL, start_time BIGINT NOT NULL, PRIMARY KEY (uuid, list_id, challenge_id))",
+            "CREATE TABLE IF NOT EXISTS requirement_progress (uuid UUID NOT NULL, list_id VARCHAR(255) NOT NULL, "
+                    + "challenge_id VARCHAR(255) NOT NULL, requirement_index INT NOT NULL, requirement VARCHAR(255) NOT NULL, "
+                    + "data VARBINARY NOT NULL, PRIMARY KEY (uuid, list_id, challenge_id, requirement_index))",
+    };
+
+    private static final int READ_CONNECTIONS = 4;
+
+    private final Connection connection; // used by saves, only from the saver thread
+    private final BlockingQueue<Connection> readers = new ArrayBlockingQueue<>(READ_CONNECTIONS);
+
+    public SqlProfileStore(File dataFolder) throws SQLException {
+        try {
+            Class.forName("org.h2.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("H2 driver is not available", e);
+        }
+
+        dataFolder.mkdirs();
+        String url = "jdbc:h2:file:" + new File(dataFolder, "player-data").getAbsolutePath();
+        connection = DriverManager.getConnection(url);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+        }
+        connection.commit();
+
+        for (int i = 0; i < READ_CONNECTIONS; i++) {
+            readers.add(DriverManager.getConnection(url));
+        }
+    }
+
+    /**
+     * Run a query on a pooled read connection, waiting for one to be free
+     */
+    private <T> T read(Query<T> query) throws IOException {
+        Connection reader;
+        try {
+            reader = readers.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+
+        try {
+            return query.run(reader);
+        } catch (SQLException e) {
+            throw new IOException(e);
+        } finally {
+            readers.add(reader);
+        }
+    }
+
+    @Override
+    public List<UUID> listProfiles() throws IOException {
+        return read(reader -> {
+            try (PreparedStatement statement = reader.prepareStatement("SELECT uuid FROM profiles");
+                 ResultSet result = statement.executeQuery()) {
+                List<UUID> uuids = new ArrayList<>();
+                while (result.next()) {
+                    uuids.add(result.getObject(1, UUID.class));
+                }
+                return uuids;
+            }
+        });
+    }
+
+    @Override
+    public boolean exists(UUID uuid) throws IOException {
+        return read(reader -> exists(reader, uuid));
+    }
+
+    private static boolean exists(Connection reader, UUID uuid) throws SQLException {
+        try (PreparedStatement statement = reader.prepareStatement("SELECT 1 FROM profiles WHERE uuid = ?")) {
+            statement.setObject(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    @Override
+    public @Nullable YamlConfig load(UUID uuid) throws IOException {
+        return read(reader -> load(reader, uuid));
+    }
+
+    private static @Nullable YamlConfig load(Connection connection, UUID uuid) throws SQLException, IOException {
+        if (!exists(connection, uuid)) {
+            return null;
+        }
+
+        LinkedHashMap<String, Object> root = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> completedMap = new LinkedHashMap<>();
+        LinkedHashMap<String, Object> progression = new LinkedHashMap<>();
+        root.put("completed-map", completedMap);
+        root.put("progression", progression);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT challenge_id, list_id, time_completed FROM completed_challenges WHERE uuid = ?")) {
+            statement.setObject(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    LinkedHashMap<String, Object> completed = new LinkedHashMap<>();
+                    completed.put("challengeListID", result.getString(2));
+                    completed.put("challengeID", result.getString(1));
+                    completed.put("timeCompleted", result.getLong(3));
+                    completedMap.put(result.getString(1), completed);
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT list_id, challenge_id, start_time FROM active_challenges WHERE uuid = ?")) {
+            statement.setObject(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    getChallengeMap(progression, result.getString(1), result.getString(2)).put("startTime", result.getLong(3));
+                }
+            }
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT list_id, challenge_id, requirement_index, requirement, data FROM requirement_progress WHERE uuid = ? "
+                        + "ORDER BY requirement_index")) {
+            statement.setObject(1, uuid);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    LinkedHashMap<String, Object> requirement = new LinkedHashMap<>();
+                    requirement.put(result.getString(4), ProfileCodec.decode(result.getBytes(5)).getYamlMap());
+                    getChallengeMap(progression, result.getString(1), result.getString(2))
+                            .put(String.valueOf(result.getInt(3)), requirement);
+                }
+            }
+        }
+
+        return YamlConfig.direct(root);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getChallengeMap(Map<String, Object> progression, String list, String challenge) {
+        Map<String, Object> listMap = (Map<String, Object>) progression.computeIfAbsent(list, (key) -> new LinkedHashMap<>());
+        return (Map<String, Object>) listMap.computeIfAbsent(challenge, (key) -> new LinkedHashMap<>());
+    }
+
+    /**
+     * All profiles are replaced in a single transaction
+     */
+    @Override
+    public synchronized long save(Map<UUID, YamlConfig> profiles) throws IOException {
+        long bytes = 0;
+        try (PreparedStatement deleteCompleted = connection.prepareStatement("DELETE FROM completed_challenges WHERE uuid = ?");
+             PreparedStatement deleteActive = connection.prepareStatement("DELETE FROM active_challenges WHERE uuid = ?");
+             PreparedStatement deleteProgress = connection.prepareStatement("DELETE FROM requirement_progress WHERE uuid = ?");
+             PreparedStatement mergeProfile = connection.prepareStatement("MERGE INTO profiles (uuid, updated) KEY (uuid) VALUES (?, ?)");
+             PreparedStatement insertCompleted = connection.prepareStatement(
+                     "INSERT INTO completed_challenges (uuid, challenge_id, list_id, time_completed) VALUES (?, ?, ?, ?)");
+             PreparedStatement insertActive = connection.prepareStatement(
+                     "INSERT INTO active_challenges (uuid, list_id, challenge_id, start_time) VALUES (?, ?, ?, ?)");
+             PreparedStatement insertProgress = connection.prepareStatement(
+                     "INSERT INTO requirement_progress (uuid, list_id, challenge_id, requirement_index, requirement, data) "
+                             + "VALUES (?, ?, ?, ?, ?, ?)")) {
+
+            long now = System.currentTimeMillis();
+            for (Map.Entry<UUID, YamlConfig> entry : profiles.entrySet()) {
+                UUID uuid = entry.getKey();
+                Map<?, ?> root = entry.getValue().getYamlMap();
+
+                for (PreparedStatement delete : new PreparedStatement[]{deleteCompleted, deleteActive, deleteProgress}) {
+                    delete.setObject(1, uuid);
+                    delete.addBatch();
+                }
+                mergeProfile.setObject(1, uuid);
+                mergeProfile.setLong(2, now);
+                mergeProfile.addBatch();
+
+                for (Object value : asMap(root.get("completed-map")).values()) {
+                    Map<?, ?> completed = asMap(value);
+                    insertCompleted.setObject(1, uuid);
+                    insertCompleted.setString(2, String.valueOf(completed.get("challengeID")));
+                    insertCompleted.setString(3, String.valueOf(completed.get("challengeListID")));
+                    insertCompleted.setLong(4, asLong(completed.get("timeCompleted")));
+                    insertCompleted.addBatch();
+                }
+
+                for (Map.Entry<?, ?> list : asMap(root.get("progression")).entrySet()) {
+                    String listID = String.valueOf(list.getKey());
+                    for (Map.Entry<?, ?> challenge : asMap(list.getValue()).entrySet()) {
+                        String challengeID = String.valueOf(challenge.getKey());
+                        Map<?, ?> challengeMap = asMap(challenge.getValue());
+                        insertActive.setObject(1, uuid);
+                        insertActive.setString(2, listID);
+                        insertActive.setString(3, challengeID);
+                        insertActive.setLong(4, asLong(challengeMap.get("startTime")));
+                        insertActive.addBatch();
+
+                        for (Map.Entry<?, ?> index : challengeMap.entrySet()) {
+                            String strIndex = String.valueOf(index.getKey());
+                            if (strIndex.equals("startTime")) {
+                                continue;
+                            }
+                            for (Map.Entry<?, ?> requirement : asMap(index.getValue()).entrySet()) {
+                                LinkedHashMap<String, Object> fields = new LinkedHashMap<>();
+                                asMap(requirement.getValue()).forEach((key, field) -> fields.put(String.valueOf(key), field));
+                                byte[] data = ProfileCodec.encode(YamlConfig.direct(fields));
+                                bytes += data.length;
+
+                                insertProgress.setObject(1, uuid);
+                                insertProgress.setString(2, listID);
+                                insertProgress.setString(3, challengeID);
+                                insertProgress.setInt(4, Integer.parseInt(strIndex));
+                                insertProgress.setString(5, String.valueOf(requirement.getKey()));
+                                insertProgress.setBytes(6, data);
+                                insertProgress.addBatch();
+                            }
+                        }
+                    }
+                }
+            }
+
+            deleteCompleted.executeBatch();
+            deleteActive.executeBatch();
+            deleteProgress.executeBatch();
+            mergeProfile.executeBatch();
+            insertCompleted.executeBatch();
+            insertActive.executeBatch();
+            insertProgress.executeBatch();
+            connection.commit();
+            return bytes;
+        } catch (SQLException | IOException | RuntimeException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e instanceof IOException io ? io : new IOException(e);
+        }
+    }
+
+    @Override
+    public List<UUID> findCompleted(String challengeID, long since) throws IOException {
+        return read(reader -> {
+            try (PreparedStatement statement = reader.prepareStatement(
+                    "SELECT uuid FROM completed_challenges WHERE challenge_id = ? AND time_completed >= ?")) {
+                statement.setString(1, challengeID);
+                statement.setLong(2, since);
+                try (ResultSet result = statement.executeQuery()) {
+                    List<UUID> players = new ArrayList<>();
+                    while (result.next()) {
+                        players.add(result.getObject(1, UUID.class));
+                    }
+                    return players;
+                }
+            }
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        List<Connection> connections = new ArrayList<>();
+        readers.drainTo(connections);
+        connections.add(connection);
+        for (Connection open : connections) {
+            try {
+                open.close();
+            } catch (SQLException e) {
+                CobbleChallengeMod.logger.error("Failed to close the player database.");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(Connection reader) throws SQLException, IOException;
+    }
+
+    /**
+     * @return The entries of a section in the profile tree, which may be held as a map or a {@link YamlConfig}
+     */
+    private static Map<?, ?> asMap(Object value) {
+        if (value instanceof YamlConfig section) {
+            return section.getYamlMap();
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map;
+        }
+        return Map.of();
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number number ? number.longValue() : System.currentTimeMillis();
+    }
+}
@@ -1,8 +1,8 @@
 package com.github.kuramastone.cobblemonChallenges.utils;
 
-import com.github.kuramastone.bUtilities.ComponentEditor;
 import com.github.kuramastone.bUtilities.configs.ItemConfig;
 import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.bUtilities.yaml.YamlKey;
 import com.github.kuramastone.bUtilities.yaml.YamlObject;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
 import com.github.kuramastone.cobblemonChallenges.events.RegisterMessagesEvent;
@@ -18,7 +18,7 @@ import java.util.Map;
 
 public class ConfigOptions {
 
-    public Map<String, ComponentEditor> messages;
+    public Map<String, MessageTemplate> messages;
 
     @YamlObject("challenges.active-challenge-item")
     private ItemConfig activeChallengeItem;
@@ -27,6 +27,19 @@ public class ConfigOptions {
     @YamlObject("permission-challenges.no-permission-challenge-item")
     private ItemConfig noPermChallengeItem;
 
+    @YamlKey("debug")
+    private boolean debug = false;
+    @YamlKey("save-interval-seconds")
+    private int saveIntervalSeconds = 60;
+    @YamlKey("storage")
+    private String storage = "file";
+    @YamlKey("profile-preload")
+    private String profilePreload = "none";
+    @YamlKey("offline-profile-idle-seconds")
+    private int offlineProfileIdleSeconds = 300;
+    @YamlKey("max-cached-offline-profiles")
+    private int maxCachedOfflineProfiles = 200;
+
     private GuiConfig menuConfig; // base challenge menu
     private Map<String, GuiConfig> challengeConfigs; // config per challenge
 
@@ -76,10 +89,10 @@ public class ConfigOptions {
     }
 
     /**
-     * Loads all keys under "messages" and stores them for easy retrieval elsewhere
+     * Loads all keys under "messages" and compiles them for easy retrieval elsewhere
      */
     public void loadMessages(YamlConfig config) {
-        messages = new HashMap<>();
+        Map<String, String> texts = new HashMap<>();
 
         for (String subkey : config.getKeys("Messages", true)) {
             String key = "Messages." + subkey;
@@ -99,12 +112,25 @@ public class ConfigOptions {
                 string = obj.toString();
             }
 
-            this.messages.put(subkey, new ComponentEditor(string));
+            texts.put(subkey, string);
         }
 
+        // the prefix is filled in once here rather than every time a message is sent
+        String prefixText = texts.getOrDefault("prefix", "");
+        messages = new HashMap<>();
+        texts.forEach((key, text) -> messages.put(key, new MessageTemplate(text, key.equals("prefix") ? null : prefixText)));
+
         RegisterMessagesEvent.EVENT.invoker().onRegistration();
     }
 
+    /**
+     * @return The compiled message, or the key itself compiled if there is no such message
+     */
+    public MessageTemplate getMessage(String key) {
+        MessageTemplate template = messages.get(key);
+        return template != null ? template : new MessageTemplate(key, null);
+    }
+
     public ItemStack getCompletedChallengeItem() {
         return FabricAdapter.toItemStack(completedChallengeItem);
     }
@@ -117,6 +143,47 @@ public class ConfigOptions {
         return FabricAdapter.toItemStack(noPermChallengeItem);
     }
 
+    /**
+     * @return True if extra diagnostic information should be logged
+     */
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public int getSaveIntervalSeconds() {
+        return Math.max(1, saveIntervalSeconds);
+    }
+
+    /**
+     * @return Where player profiles are stored, either "file" or "h2"
+     */
+    public String getStorage() {
+        return storage;
+    }
+
+    /**
+     * @return How profiles are loaded at startup: "none" loads them on demand, "sequential" or "parallel" load every
+     * stored profile and keep them in memory
+     */
+    public String getProfilePreload() {
+        String mode = profilePreload == null ? "none" : profilePreload.toLowerCase();
+        return mode.equals("sequential") || mode.equals("parallel") ? mode : "none";
+    }
+
+    /**
+     * @return How long an offline player's profile stays in memory after it was last used
+     */
+    public int getOfflineProfileIdleSeconds() {
+        return Math.max(0, offlineProfileIdleSeconds);
+    }
+
+    /**
+     * @return Most offline profiles kept in memory. The least recently used are unloaded first.
+     */
+    public int getMaxCachedOfflineProfiles() {
+        return Math.max(0, maxCachedOfflineProfiles);
+    }
+
     public GuiConfig getMenuGuiConfig() {
         return menuConfig;
     }
@@ -0,0 +1,73 @@
+package com.github.kuramastone.cobblemonChallenges.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Min-heap of deadlines keyed by object. Each key holds at most one deadline. Rescheduling or cancelling a key leaves
+ * its old heap entry in place, and that entry is discarded when it reaches the top instead of being searched for.
+ *
+ * @param <K> Key type. Keys are compared with equals/hashCode.
+ */
+public class DeadlineQueue<K> {
+
+    private final PriorityQueue<Entry<K>> heap = new PriorityQueue<>(Comparator.comparingLong(Entry::deadline));
+    private final Map<K, Long> deadlines = new HashMap<>();
+
+    /**
+     * Set the deadline of this key, replacing any existing one
+     */
+    public synchronized void schedule(K key, long deadline) {
+        Long previous = deadlines.put(key, deadline);
+        if (previous == null || previous != deadline) {
+            heap.add(new Entry<>(key, deadline));
+        }
+    }
+
+    public synchronized void cancel(K key) {
+        deadlines.remove(key);
+    }
+
+    public synchronized boolean isScheduled(K key) {
+        return deadlines.containsKey(key);
+    }
+
+    /**
+     * Remove and return every key whose deadline is at or before this time, earliest first
+     */
+    public synchronized List<K> pollExpired(long time) {
+        List<K> expired = null;
+        while (!heap.isEmpty() && heap.peek().deadline() <= time) {
+            Entry<K> entry = heap.poll();
+            Long current = deadlines.get(entry.key());
+            // skip entries that were rescheduled or cancelled after being queued
+            if (current == null || current != entry.deadline()) {
+                continue;
+            }
+
+            deadlines.remove(entry.key());
+            if (expired == null) {
+                expired = new ArrayList<>();
+            }
+            expired.add(entry.key());
+        }
+
+        return expired == null ? List.of() : expired;
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    public synchronized void clear() {
+        heap.clear();
+        deadlines.clear();
+    }
+
+    private record Entry<K>(K key, long deadline) {
+    }
+}
@@ -1,12 +1,18 @@
 package com.github.kuramastone.cobblemonChallenges.utils;
 
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 public class FileUtils {
 
@@ -47,4 +53,44 @@ public class FileUtils {
             }
         }
     }
+
+    /**
+     * Write yaml to a temporary file, flush it to disk, then move it over the target file. A crash mid-write leaves the
+     * previous file intact instead of a truncated one.
+     *
+     * @return Number of bytes written
+     */
+    public static long writeAtomically(YamlConfig data, File file) throws IOException {
+        return writeAtomically(file, data::save);
+    }
+
+    /**
+     * Same as {@link #writeAtomically(YamlConfig, File)} for raw bytes
+     */
+    public static long writeAtomically(byte[] data, File file) throws IOException {
+        return writeAtomically(file, temp -> Files.write(temp, data));
+    }
+
+    private static long writeAtomically(File file, TempWriter writer) throws IOException {
+        file.getParentFile().mkdirs();
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+
+        writer.write(temp);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        long size = Files.size(temp);
+
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return size;
+    }
+
+    private interface TempWriter {
+        void write(Path temp) throws IOException;
+    }
 }
@@ -0,0 +1,141 @@
+package com.github.kuramastone.cobblemonChallenges.utils;
+
+import com.github.kuramastone.bUtilities.ComponentEditor;
+import net.kyori.adventure.text.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message compiled once when messages load. Its MiniMessage is parsed up front and its {placeholders} are found, so
+ * filling them in substitutes into the parsed component instead of rewriting the text and parsing it again.
+ * <p>
+ * Placeholders are replaced with plain text, or with a component if one is given. Text has to be parsed again when it
+ * contains MiniMessage tags, or when a placeholder sits inside a tag, so those fall back to rewriting the text.
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{[^{}<>\\s]+}");
+
+    private final String rawText; // as written in the config
+    private final String text; // with the prefix filled in
+    private final ComponentEditor editor;
+    private final Component parsed;
+    private final Set<String> slots = new HashSet<>(); // placeholders in text content
+    private final Set<String> tagSlots = new HashSet<>(); // placeholders inside a tag
+    private final List<MessageTemplate> lines; // each line compiled on its own, or null if there is only one
+
+    /**
+     * @param prefixText Inserted in place of {prefix}, or null to leave it
+     */
+    public MessageTemplate(String rawText, String prefixText) {
+        this.rawText = rawText;
+        this.text = prefixText == null ? rawText : rawText.replace("{prefix}", prefixText);
+        this.editor = new ComponentEditor(text);
+        this.parsed = MiniMessageUtils.parse(text);
+
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        while (matcher.find()) {
+            (isInsideTag(matcher.start()) ? tagSlots : slots).add(matcher.group());
+        }
+
+        String[] split = StringUtils.splitByLineBreak(text);
+        if (split.length == 1 && !split[0].isBlank()) {
+            lines = null;
+        }
+        else {
+            // lore has no use for blank lines
+            lines = new ArrayList<>(split.length);
+            for (String line : split) {
+                if (!line.isBlank()) {
+                    lines.add(new MessageTemplate(line, null));
+                }
+            }
+        }
+    }
+
+    private boolean isInsideTag(int index) {
+        int open = text.lastIndexOf('<', index);
+        return open != -1 && text.lastIndexOf('>', index) < open;
+    }
+
+    /**
+     * @return The text as written in the config, without the prefix filled in
+     */
+    public String getRawText() {
+        return rawText;
+    }
+
+    /**
+     * @return A new editor of the text using legacy formatting, with the prefix filled in
+     */
+    public ComponentEditor newEditor() {
+        return editor.copy();
+    }
+
+    /**
+     * @param replacements Pairs of a placeholder and its value. Values may be components.
+     */
+    public Component render(Object... replacements) {
+        if (replacements.length % 2 != 0) {
+            throw new IllegalArgumentException("Key was not provided with a replacement");
+        }
+
+        Component result = parsed;
+        for (int i = 0; i < replacements.length; i += 2) {
+            String key = replacements[i].toString();
+            Object value = replacements[i + 1];
+            if (!slots.contains(key)) {
+                if (tagSlots.contains(key) || text.contains(key)) {
+                    return reparse(replacements);
+                }
+                continue; // not used by this message
+            }
+
+            Component replacement;
+            if (value instanceof Component component) {
+                replacement = component;
+            }
+            else {
+                String string = value.toString();
+                if (string.indexOf('<') != -1) {
+                    return reparse(replacements);
+                }
+                replacement = Component.text(string);
+            }
+            result = result.replaceText(builder -> builder.matchLiteral(key).replacement(replacement));
+        }
+        return result;
+    }
+
+    /**
+     * Render each non-blank line of the text as its own component, for item lore where a line break does not start a new line
+     *
+     * @param replacements Pairs of a placeholder and its value. Values may be components.
+     */
+    public List<Component> renderLines(Object... replacements) {
+        if (lines == null) {
+            return List.of(render(replacements));
+        }
+
+        List<Component> rendered = new ArrayList<>(lines.size());
+        for (MessageTemplate line : lines) {
+            rendered.add(line.render(replacements));
+        }
+        return rendered;
+    }
+
+    private Component reparse(Object[] replacements) {
+        String processed = text;
+        for (int i = 0; i < replacements.length; i += 2) {
+            Object value = replacements[i + 1];
+            String string = value instanceof Component component ? MiniMessageUtils.serialize(component) : value.toString();
+            processed = processed.replace(replacements[i].toString(), string);
+        }
+        return MiniMessageUtils.parse(processed);
+    }
+}
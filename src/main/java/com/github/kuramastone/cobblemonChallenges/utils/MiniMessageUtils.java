@@ -40,6 +40,13 @@ public class MiniMessageUtils {
         }
     }
 
+    /**
+     * Write an Adventure Component back to a MiniMessage string
+     */
+    public static String serialize(Component component) {
+        return MINI_MESSAGE.serialize(component);
+    }
+
     /**
      * Parse a MiniMessage string with custom placeholders
      * @param miniMessage The MiniMessage formatted string
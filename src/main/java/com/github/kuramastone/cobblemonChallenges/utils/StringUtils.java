@@ -1,8 +1,10 @@
 package com.github.kuramastone.cobblemonChallenges.utils;
 
+import com.github.kuramastone.cobblemonChallenges.CobbleChallengeAPI;
 import com.github.kuramastone.cobblemonChallenges.CobbleChallengeMod;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.logging.LogUtils;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 
 import java.util.*;
@@ -153,27 +155,30 @@ public class StringUtils {
         return line.split("\\r\\n|\\r|\\n|\\u2028|\\u2029|\n");
     }
 
-    public static String formatSecondsToString(long seconds) {
+    public static Component formatSecondsToComponent(long seconds) {
         // Check if the time is more than or equal to one day
         if (seconds >= 86400) { // 86400 seconds = 1 day
+            CobbleChallengeAPI api = CobbleChallengeMod.instance.getAPI();
             long days = TimeUnit.SECONDS.toDays(seconds);
             long remainingSeconds = seconds % 86400; // Seconds left after the days part
 
             if (remainingSeconds == 0) {
 
                 if(days == 1) {
-                    return CobbleChallengeMod.instance.getAPI().getRawMiniMessageString("time.twenty-four-hours");
+                    return api.getMiniMessage("time.twenty-four-hours");
                 }
                 else {
-                    return days + " " + CobbleChallengeMod.instance.getAPI().getRawMiniMessageString("time.days"); // Full day duration
+                    return Component.text(days + " ").append(api.getMiniMessage("time.days")); // Full day duration
                 }
 
             } else {
-                return days + (days == 1 ? " " + CobbleChallengeMod.instance.getAPI().getRawMiniMessageString("time.day") + " " : " " + CobbleChallengeMod.instance.getAPI().getRawMiniMessageString("time.days") + " ") + formatHHMMSS(remainingSeconds);
+                return Component.text(days + " ")
+                        .append(api.getMiniMessage(days == 1 ? "time.day" : "time.days"))
+                        .append(Component.text(" " + formatHHMMSS(remainingSeconds)));
             }
         } else {
             // For less than a day, just return in HH:mm:ss format
-            return formatHHMMSS(seconds);
+            return Component.text(formatHHMMSS(seconds));
         }
     }
 
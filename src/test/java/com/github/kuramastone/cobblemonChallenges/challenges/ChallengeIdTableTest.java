@@ -0,0 +1,28 @@
+package com.github.kuramastone.cobblemonChallenges.challenges;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChallengeIdTableTest {
+
+    @Test
+    void assignsDenseIdsIgnoringCase() {
+        ChallengeIdTable table = new ChallengeIdTable();
+
+        assertEquals(0, table.idOf("Catch-5"));
+        assertEquals(1, table.idOf("mine-64"));
+        assertEquals(0, table.idOf("CATCH-5"));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    void findDoesNotAssign() {
+        ChallengeIdTable table = new ChallengeIdTable();
+        table.idOf("catch-5");
+
+        assertEquals(0, table.find("Catch-5"));
+        assertEquals(-1, table.find("mine-64"));
+        assertEquals(1, table.size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.level.block.Blocks;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockFilterTest {
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+
+    @Test
+    void anyMatchesEveryBlock() {
+        assertSame(BlockFilter.ANY, BlockFilter.compile(null));
+        assertSame(BlockFilter.ANY, BlockFilter.compile("any"));
+        assertSame(BlockFilter.ANY, BlockFilter.compile("minecraft:stone/any"));
+        assertTrue(BlockFilter.ANY.matches(Blocks.DIRT.defaultBlockState()));
+    }
+
+    @Test
+    void matchesListedBlocksOnly() {
+        BlockFilter filter = BlockFilter.compile("minecraft:stone/ Minecraft:Dirt");
+
+        assertFalse(filter.isAny());
+        assertTrue(filter.matches(Blocks.STONE.defaultBlockState()));
+        assertTrue(filter.matches(Blocks.DIRT.defaultBlockState()));
+        assertFalse(filter.matches(Blocks.GRASS_BLOCK.defaultBlockState()));
+    }
+
+    @Test
+    void namespaceDefaultsToMinecraft() {
+        BlockFilter filter = BlockFilter.compile("stone");
+
+        assertTrue(filter.matches(Blocks.STONE.defaultBlockState()));
+    }
+
+    @Test
+    void unknownBlocksAreIgnored() {
+        BlockFilter filter = BlockFilter.compile("minecraft:not_a_block/minecraft:stone");
+
+        assertTrue(filter.matches(Blocks.STONE.defaultBlockState()));
+        assertFalse(filter.matches(Blocks.AIR.defaultBlockState()));
+    }
+
+    @Test
+    void tagsDoNotMatchEverything() {
+        BlockFilter filter = BlockFilter.compile("#minecraft:logs");
+
+        assertFalse(filter.isAny());
+        assertFalse(filter.matches(Blocks.STONE.defaultBlockState()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.kuramastone.cobblemonChallenges.challenges.requirements.filters;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOfDayFilterTest {
+
+    private static final long DAWN = 500;
+    private static final long DAY = 6000;
+    private static final long DUSK = 12500;
+    private static final long NIGHT = 18000;
+
+    @Test
+    void anyMatchesEveryTime() {
+        assertSame(TimeOfDayFilter.ANY, TimeOfDayFilter.compile(null));
+        assertSame(TimeOfDayFilter.ANY, TimeOfDayFilter.compile("any"));
+        assertSame(TimeOfDayFilter.ANY, TimeOfDayFilter.compile("dawn/any"));
+        assertTrue(TimeOfDayFilter.ANY.matches(NIGHT));
+    }
+
+    @Test
+    void everyTimeCompilesToAny() {
+        assertSame(TimeOfDayFilter.ANY, TimeOfDayFilter.compile("dawn/day/dusk/night"));
+    }
+
+    @Test
+    void matchesListedTimesOnly() {
+        TimeOfDayFilter filter = TimeOfDayFilter.compile("Dawn / DUSK");
+
+        assertTrue(filter.matches(DAWN));
+        assertTrue(filter.matches(DUSK));
+        assertFalse(filter.matches(DAY));
+        assertFalse(filter.matches(NIGHT));
+    }
+
+    @Test
+    void dayTimeWrapsAroundDays() {
+        TimeOfDayFilter filter = TimeOfDayFilter.compile("night");
+
+        assertTrue(filter.matches(24000 * 5 + NIGHT));
+        assertFalse(filter.matches(24000 * 5 + DAY));
+    }
+
+    @Test
+    void unknownPhrasesAreIgnored() {
+        TimeOfDayFilter filter = TimeOfDayFilter.compile("noon/day");
+
+        assertTrue(filter.matches(DAY));
+        assertFalse(filter.matches(NIGHT));
+    }
+
+    @Test
+    void onlyUnknownPhrasesNeverMatch() {
+        TimeOfDayFilter filter = TimeOfDayFilter.compile("noon/midnight");
+
+        assertSame(TimeOfDayFilter.NONE, filter);
+        assertFalse(filter.isAny());
+        assertFalse(filter.matches(DAWN));
+        assertFalse(filter.matches(DAY));
+        assertFalse(filter.matches(DUSK));
+        assertFalse(filter.matches(NIGHT));
+    }
+}
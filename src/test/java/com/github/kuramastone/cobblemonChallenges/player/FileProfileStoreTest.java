@@ -0,0 +1,86 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileProfileStoreTest {
+
+    private static final UUID FIRST = UUID.fromString("0f6c1a4e-3b52-4c8e-9a3f-2d1e5b7c9a10");
+    private static final UUID SECOND = UUID.fromString("a1b2c3d4-e5f6-4711-8899-aabbccddeeff");
+
+    @TempDir
+    File dataFolder;
+
+    private ProfileStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileProfileStore(dataFolder);
+    }
+
+    @Test
+    void missingProfileLoadsAsNull() throws IOException {
+        assertFalse(store.exists(FIRST));
+        assertNull(store.load(FIRST));
+        assertTrue(store.listProfiles().isEmpty());
+    }
+
+    @Test
+    void savedProfilesLoadBack() throws IOException {
+        LinkedHashMap<String, Object> first = completed("catch-5", 500L);
+        LinkedHashMap<String, Object> second = completed("mine-64", 900L);
+
+        store.save(Map.of(FIRST, YamlConfig.direct(first), SECOND, YamlConfig.direct(second)));
+
+        assertTrue(store.exists(FIRST));
+        assertEquals(first, store.load(FIRST).getYamlMap());
+        assertEquals(second, store.load(SECOND).getYamlMap());
+        assertEquals(2, store.listProfiles().size());
+    }
+
+    @Test
+    void saveReplacesStoredProfile() throws IOException {
+        store.save(Map.of(FIRST, YamlConfig.direct(completed("catch-5", 500L))));
+        LinkedHashMap<String, Object> replacement = completed("mine-64", 900L);
+
+        store.save(Map.of(FIRST, YamlConfig.direct(replacement)));
+
+        assertEquals(replacement, store.load(FIRST).getYamlMap());
+        assertEquals(List.of(FIRST), store.listProfiles());
+    }
+
+    @Test
+    void findsPlayersWhoCompletedSince() throws IOException {
+        store.save(Map.of(FIRST, YamlConfig.direct(completed("catch-5", 500L)),
+                SECOND, YamlConfig.direct(completed("catch-5", 900L))));
+
+        assertEquals(List.of(SECOND), store.findCompleted("catch-5", 600L));
+        assertEquals(2, store.findCompleted("catch-5", 0L).size());
+        assertTrue(store.findCompleted("mine-64", 0L).isEmpty());
+    }
+
+    private static LinkedHashMap<String, Object> completed(String challenge, long time) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("challengeListID", "daily");
+        entry.put("challengeID", challenge);
+        entry.put("timeCompleted", time);
+
+        LinkedHashMap<String, Object> root = new LinkedHashMap<>();
+        root.put("completed-map", new LinkedHashMap<>(Map.of(challenge, entry)));
+        return root;
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProfileCodecTest {
+
+    private static final int MAGIC = 0x43435046;
+
+    @Test
+    void roundTripKeepsTreeAndTypes() throws IOException {
+        LinkedHashMap<String, Object> root = sampleProfile();
+
+        YamlConfig decoded = ProfileCodec.decode(ProfileCodec.encode(YamlConfig.direct(root)));
+
+        assertEquals(root, decoded.getYamlMap());
+    }
+
+    @Test
+    void roundTripOfEmptyProfile() throws IOException {
+        YamlConfig decoded = ProfileCodec.decode(ProfileCodec.encode(YamlConfig.direct(new LinkedHashMap<>())));
+
+        assertEquals(Map.of(), decoded.getYamlMap());
+    }
+
+    @Test
+    void rejectsOtherFormatVersions() throws IOException {
+        byte[] bytes = ProfileCodec.encode(YamlConfig.direct(sampleProfile()));
+        bytes[4] = (byte) (ProfileCodec.FORMAT_VERSION + 1); // version varint follows the magic
+
+        IOException e = assertThrows(IOException.class, () -> ProfileCodec.decode(bytes));
+        assertEquals("Unsupported profile format version " + (ProfileCodec.FORMAT_VERSION + 1), e.getMessage());
+    }
+
+    @Test
+    void rejectsWrongMagic() throws IOException {
+        byte[] bytes = ProfileCodec.encode(YamlConfig.direct(sampleProfile()));
+        bytes[0] ^= 1;
+
+        assertThrows(IOException.class, () -> ProfileCodec.decode(bytes));
+    }
+
+    @Test
+    void rejectsTruncatedData() throws IOException {
+        byte[] bytes = ProfileCodec.encode(YamlConfig.direct(sampleProfile()));
+
+        for (int length = 0; length < bytes.length; length++) {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> ProfileCodec.decode(truncated), "truncated to " + length);
+        }
+    }
+
+    @Test
+    void rejectsCountLargerThanData() throws IOException {
+        // dictionary of 0x7FFFFFF0 strings
+        byte[] bytes = header(0xF0, 0xFF, 0xFF, 0xFF, 0x07);
+
+        assertThrows(IOException.class, () -> ProfileCodec.decode(bytes));
+    }
+
+    @Test
+    void rejectsNegativeCount() throws IOException {
+        // dictionary of -1 strings
+        byte[] bytes = header(0xFF, 0xFF, 0xFF, 0xFF, 0x0F);
+
+        assertThrows(IOException.class, () -> ProfileCodec.decode(bytes));
+    }
+
+    @Test
+    void rejectsStringOutsideDictionary() throws IOException {
+        // empty dictionary, then a map of one entry whose key is string 5
+        byte[] bytes = header(0x00, 0x01, 0x05, 0x08);
+
+        assertThrows(IOException.class, () -> ProfileCodec.decode(bytes));
+    }
+
+    @Test
+    void rejectsDeepNesting() throws IOException {
+        LinkedHashMap<String, Object> root = new LinkedHashMap<>();
+        Map<String, Object> current = root;
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> child = new LinkedHashMap<>();
+            current.put("a", child);
+            current = child;
+        }
+        byte[] bytes = ProfileCodec.encode(YamlConfig.direct(root));
+
+        assertThrows(IOException.class, () -> ProfileCodec.decode(bytes));
+    }
+
+    private static LinkedHashMap<String, Object> sampleProfile() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("progressAmount", 3);
+        progress.put("lastSettled", 1_700_000_000_000L);
+        progress.put("ratio", 0.25);
+        progress.put("negative", -42);
+        progress.put("done", false);
+        progress.put("tracked", true);
+        progress.put("missing", null);
+        progress.put("labels", new ArrayList<>(List.of("legendary", "shiny", 7)));
+
+        Map<String, Object> requirement = new LinkedHashMap<>();
+        requirement.put("catch_pokemon", progress);
+
+        Map<String, Object> challenge = new LinkedHashMap<>();
+        challenge.put("startTime", 1_700_000_000_000L);
+        challenge.put("0", requirement);
+
+        Map<String, Object> list = new LinkedHashMap<>();
+        list.put("catch-5", challenge);
+
+        Map<String, Object> completed = new LinkedHashMap<>();
+        completed.put("challengeListID", "daily");
+        completed.put("challengeID", "catch-5");
+        completed.put("timeCompleted", 1_700_000_000_000L);
+
+        LinkedHashMap<String, Object> root = new LinkedHashMap<>();
+        root.put("progression", new LinkedHashMap<>(Map.of("daily", list)));
+        root.put("completed-map", new LinkedHashMap<>(Map.of("catch-5", completed)));
+        return root;
+    }
+
+    private static byte[] header(int... body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(ProfileCodec.FORMAT_VERSION);
+        for (int b : body) {
+            out.writeByte(b);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.kuramastone.cobblemonChallenges.player;
+
+import com.github.kuramastone.bUtilities.yaml.YamlConfig;
+import com.github.kuramastone.cobblemonChallenges.challenges.CompletedChallenge;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgressJournalTest {
+
+    private static final UUID PLAYER = UUID.fromString("0f6c1a4e-3b52-4c8e-9a3f-2d1e5b7c9a10");
+
+    @TempDir
+    File dataFolder;
+
+    private ProfileSaver saver;
+    private ProgressJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        saver = new ProfileSaver();
+        journal = new ProgressJournal(dataFolder, saver);
+        journal.setEnabled(true);
+    }
+
+    @Test
+    void replaysRecordedChanges() throws IOException {
+        journal.recordStart(PLAYER, "daily", "catch-5", 100L);
+        journal.recordProgress(PLAYER, "daily", "catch-5", 0, "catch_pokemon", progress(3));
+        journal.recordComplete(PLAYER, new CompletedChallenge("daily", "catch-5", 200L));
+        append();
+
+        YamlConfig data = replay(new LinkedHashMap<>());
+
+        assertEquals(100L, data.getLong("progression.daily.catch-5.startTime"));
+        assertEquals(3, data.getInt("progression.daily.catch-5.0.catch_pokemon.progressAmount"));
+        assertEquals(200L, data.getLong("completed-map.catch-5.timeCompleted"));
+    }
+
+    @Test
+    void disabledJournalRecordsNothing() {
+        journal.setEnabled(false);
+        journal.recordStart(PLAYER, "daily", "catch-5", 100L);
+        append();
+
+        assertTrue(journal.readAll().isEmpty());
+    }
+
+    @Test
+    void damagedFrameEndsSegment() throws IOException {
+        journal.recordStart(PLAYER, "daily", "catch-5", 100L);
+        append();
+        journal.recordProgress(PLAYER, "daily", "catch-5", 0, "catch_pokemon", progress(3));
+        append();
+
+        // flip the last byte, which belongs to the second frame
+        File segment = onlySegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.seek(file.length() - 1);
+            int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+
+        List<ProgressJournal.Entry> entries = journal.readAll().get(PLAYER);
+        assertNotNull(entries);
+        assertEquals(1, entries.size());
+    }
+
+    @Test
+    void tornFrameEndsSegment() throws IOException {
+        journal.recordStart(PLAYER, "daily", "catch-5", 100L);
+        append();
+        journal.recordProgress(PLAYER, "daily", "catch-5", 0, "catch_pokemon", progress(3));
+        append();
+
+        File segment = onlySegment();
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 2);
+        }
+
+        assertEquals(1, journal.readAll().get(PLAYER).size());
+    }
+
+    @Test
+    void progressReplacesNumericIndex() throws IOException {
+        journal.recordProgress(PLAYER, "daily", "catch-5", 0, "catch_pokemon", progress(4));
+        append();
+
+        // yaml reads an unquoted index as a number
+        Map<Object, Object> challenge = new LinkedHashMap<>();
+        challenge.put(0, Map.of("catch_pokemon", Map.of("progressAmount", 1)));
+        LinkedHashMap<String, Object> stored = new LinkedHashMap<>();
+        stored.put("progression", new LinkedHashMap<>(Map.of("daily", new LinkedHashMap<>(Map.of("catch-5", challenge)))));
+
+        YamlConfig data = replay(stored);
+
+        assertFalse(challenge.containsKey(0));
+        assertEquals(4, data.getInt("progression.daily.catch-5.0.catch_pokemon.progressAmount"));
+    }
+
+    @Test
+    void replayingStartKeepsStoredProgressOfSameAttempt() throws IOException {
+        journal.recordStart(PLAYER, "daily", "catch-5", 100L);
+        append();
+
+        // the store already holds this attempt with progress saved after it
+        Map<String, Object> challenge = new LinkedHashMap<>();
+        challenge.put("startTime", 100L);
+        challenge.put("0", new LinkedHashMap<>(Map.of("catch_pokemon", new LinkedHashMap<>(Map.of("progressAmount", 2)))));
+        LinkedHashMap<String, Object> stored = new LinkedHashMap<>();
+        stored.put("progression", new LinkedHashMap<>(Map.of("daily", new LinkedHashMap<>(Map.of("catch-5", challenge)))));
+
+        YamlConfig data = replay(stored);
+
+        assertEquals(2, data.getInt("progression.daily.catch-5.0.catch_pokemon.progressAmount"));
+    }
+
+    @Test
+    void replayingStartReplacesEarlierAttempt() throws IOException {
+        journal.recordStart(PLAYER, "daily", "catch-5", 300L);
+        append();
+
+        Map<String, Object> challenge = new LinkedHashMap<>();
+        challenge.put("startTime", 100L);
+        challenge.put("0", new LinkedHashMap<>(Map.of("catch_pokemon", new LinkedHashMap<>(Map.of("progressAmount", 2)))));
+        LinkedHashMap<String, Object> stored = new LinkedHashMap<>();
+        stored.put("progression", new LinkedHashMap<>(Map.of("daily", new LinkedHashMap<>(Map.of("catch-5", challenge)))));
+
+        YamlConfig data = replay(stored);
+
+        assertEquals(300L, data.getLong("progression.daily.catch-5.startTime"));
+        assertFalse(data.containsKey("progression.daily.catch-5.0"));
+    }
+
+    @Test
+    void deletedSegmentsAreNotReplayed() {
+        journal.recordStart(PLAYER, "daily", "catch-5", 100L);
+        long covered = journal.rotate();
+        journal.recordRemove(PLAYER, "daily", "catch-5");
+        journal.flush();
+        saver.supplyAfterPending(() -> {
+            journal.deleteSegmentsThrough(covered);
+            return null;
+        }).join();
+
+        List<ProgressJournal.Entry> entries = journal.readAll().get(PLAYER);
+        assertEquals(1, entries.size());
+    }
+
+    private void append() {
+        journal.flush();
+        saver.flush();
+    }
+
+    private YamlConfig replay(LinkedHashMap<String, Object> stored) throws IOException {
+        YamlConfig data = YamlConfig.direct(stored);
+        for (ProgressJournal.Entry entry : journal.readAll().get(PLAYER)) {
+            entry.applyTo(data);
+        }
+        return data;
+    }
+
+    private File onlySegment() {
+        File[] segments = new File(dataFolder, "journal").listFiles((dir, name) -> name.endsWith(".log"));
+        assertNotNull(segments);
+        assertEquals(1, segments.length);
+        return segments[0];
+    }
+
+    private static YamlConfig progress(int amount) {
+        LinkedHashMap<String, Object> data = new LinkedHashMap<>();
+        data.put("progressAmount", amount);
+        return YamlConfig.direct(data);
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.kuramastone.cobblemonChallenges.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeadlineQueueTest {
+
+    @Test
+    void pollsOnlyExpiredKeysEarliestFirst() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        queue.schedule("late", 300);
+        queue.schedule("early", 100);
+        queue.schedule("middle", 200);
+
+        assertEquals(List.of("early", "middle"), queue.pollExpired(200));
+        assertEquals(1, queue.size());
+        assertTrue(queue.isScheduled("late"));
+        assertEquals(List.of(), queue.pollExpired(299));
+    }
+
+    @Test
+    void reschedulingReplacesDeadline() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        queue.schedule("key", 100);
+        queue.schedule("key", 500);
+
+        assertEquals(List.of(), queue.pollExpired(100));
+        assertEquals(List.of("key"), queue.pollExpired(500));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void reschedulingEarlierExpiresOnce() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        queue.schedule("key", 500);
+        queue.schedule("key", 100);
+
+        assertEquals(List.of("key"), queue.pollExpired(1000));
+        assertEquals(List.of(), queue.pollExpired(1000));
+    }
+
+    @Test
+    void cancelledKeysNeverExpire() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        queue.schedule("key", 100);
+        queue.cancel("key");
+
+        assertFalse(queue.isScheduled("key"));
+        assertEquals(List.of(), queue.pollExpired(1000));
+    }
+
+    @Test
+    void keyCanBeScheduledAgainAfterExpiring() {
+        DeadlineQueue<String> queue = new DeadlineQueue<>();
+        queue.schedule("key", 100);
+        queue.pollExpired(100);
+        queue.schedule("key", 100);
+
+        assertEquals(List.of("key"), queue.pollExpired(100));
+    }
+}